@@ -45,11 +45,8 @@ public class AppointmentAspect {
         // Free the slot
         AvailabilitySlot slot = appointment.getSlot();
         slot.setReserved(false);
-        // Save the slot
-        slot.getDoctor().getAvailabilitySlots().stream()
-                .filter(s -> s.getId().equals(slot.getId()))
-                .findFirst()
-                .ifPresent(s -> s.setReserved(false));
+        // Save the slot (this advice may run outside the cancel transaction)
+        slotRepository.save(slot);
     }
 }
 
@@ -20,7 +20,7 @@ public class AppointmentLoggingAspect {
 
     // After cancelling an appointment successfully
     @AfterReturning(
-            pointcut = "execution(* org.example.healthcare_appointment_system.service.AppointmentService.cancelAppointment(..))",
+            pointcut = "execution(* org.example.healthcare_appointment_system.service.PatientService.cancelAppointment(..))",
             returning = "response"
     )
     public void logAppointmentCancellation(Object response) {
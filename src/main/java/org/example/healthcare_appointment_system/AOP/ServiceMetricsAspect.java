@@ -0,0 +1,74 @@
+package org.example.healthcare_appointment_system.AOP;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.healthcare_appointment_system.metrics.QueryCounts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the @Service beans in the service package and logs calls
+ * slower than {@code app.metrics.slow-call-threshold-ms}. Ordered ahead of the transaction
+ * advice so the measured time includes commit.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(0)
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final long slowCallThresholdNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${app.metrics.slow-call-threshold-ms:500}") long slowCallThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs);
+    }
+
+    @Around("within(org.example.healthcare_appointment_system.service..*) " +
+            "&& @within(org.springframework.stereotype.Service)")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+            timer(className, method, exception).record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (elapsed >= slowCallThresholdNanos) {
+                QueryCounts counts = QueryCounts.current();
+                log.warn("Slow service call {}.{} took {} ms (request so far: {} SQL statements, {} Mongo commands)",
+                        className, method, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        counts == null ? "-" : counts.sqlStatements(),
+                        counts == null ? "-" : counts.mongoCommands());
+            }
+        }
+    }
+
+    private Timer timer(String className, String method, String exception) {
+        return timers.computeIfAbsent(className + '.' + method + '#' + exception,
+                key -> Timer.builder("service.method")
+                        .description("Service layer call latency")
+                        .tag("class", className)
+                        .tag("method", method)
+                        .tag("exception", exception)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
@@ -1,6 +1,11 @@
 package org.example.healthcare_appointment_system.cacheTest;
 
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -10,4 +15,21 @@ public class CacheConfig {
      * Cache configuration is handled
      * by application.yml and ehcache.xml
      * */
-}
\ No newline at end of file
+
+    /**
+     * Defer puts/evictions issued inside a transaction until it commits, so a concurrent
+     * read cannot re-cache data that is about to change.
+     */
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheManager() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+
+    /**
+     * Hand Spring's JCache manager to Hibernate so both share one set of ehcache.xml regions.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sharedSecondLevelCacheManager(javax.cache.CacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
@@ -1,33 +1,77 @@
 package org.example.healthcare_appointment_system.cacheTest;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.dto.CacheRegionStatsDto;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 @Service
 public class CacheService {
+    public static final String DOCTOR_SEARCH_RESULTS = "doctorSearchResults";
+    private static final String DOCTOR_SLOTS_ROLE = Doctor.class.getName() + ".availabilitySlots";
+
+    private static final long UNAVAILABLE = -1;
+    private static final String ON_HEAP_TIER = "OnHeap";
+
     private final CacheManager cacheManager;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<javax.cache.CacheManager> jCacheManager;
 
-    public CacheService(CacheManager cacheManager) {
+    public CacheService(CacheManager cacheManager,
+                        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                        ObjectProvider<javax.cache.CacheManager> jCacheManager) {
         this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jCacheManager = jCacheManager;
     }
 
     /**
-     * Evicts a specific doctor from the entity cache
+     * Evicts a specific doctor (and its slot collection) from the entity cache
      * Use when a specific doctor's data is updated
      */
     public void evictDoctorCache(Long doctorId) {
-        if (cacheManager.getCache("doctors") != null) {
-            cacheManager.getCache("doctors").evict(doctorId);
-        }
+        withHibernateCache(cache -> {
+            cache.evictEntityData(Doctor.class, doctorId);
+            cache.evictCollectionData(DOCTOR_SLOTS_ROLE, doctorId);
+        });
     }
 
     /**
      * Evict all doctors of a specific specialty from cache
-     * Use when doctors are added/removed/updated that affect specialty queries
+     * Use when doctors are added/removed/updated that affect specialty queries.
+     * Query cache keys embed the bound parameters, so the whole query region is dropped.
      */
     public void evictDoctorBySpecialtyCache(String specialty) {
-        if (cacheManager.getCache("doctorBySpecialty") != null) {
-            cacheManager.getCache("doctorBySpecialty").evict(specialty.toLowerCase());
+        withHibernateCache(cache -> cache.evictQueryRegion("doctorBySpecialty"));
+        evictDoctorSearchResults(specialty);
+    }
+
+    /**
+     * Evicts the cached search DTOs for a specialty.
+     * Use when a doctor or one of their slots changes (including reservations)
+     */
+    public void evictDoctorSearchResults(String specialty) {
+        if (specialty != null && cacheManager.getCache(DOCTOR_SEARCH_RESULTS) != null) {
+            cacheManager.getCache(DOCTOR_SEARCH_RESULTS).evict(specialty.trim().toLowerCase());
         }
     }
 
@@ -37,18 +81,138 @@ public class CacheService {
      * that affect the complete list of doctors
      */
     public void evictAllDoctorsCache() {
-        if (cacheManager.getCache("allDoctors") != null) {
-            cacheManager.getCache("allDoctors").clear();
-        }
+        withHibernateCache(cache -> cache.evictQueryRegion("allDoctors"));
     }
 
     public void clearAllDoctorCaches() {
         evictAllDoctorsCache();
-        if (cacheManager.getCache("doctors") != null) {
-            cacheManager.getCache("doctors").clear();
+        withHibernateCache(cache -> {
+            cache.evictEntityData(Doctor.class);
+            cache.evictCollectionData(DOCTOR_SLOTS_ROLE);
+            cache.evictQueryRegion("doctorBySpecialty");
+        });
+        if (cacheManager.getCache(DOCTOR_SEARCH_RESULTS) != null) {
+            cacheManager.getCache(DOCTOR_SEARCH_RESULTS).clear();
+        }
+    }
+
+    /**
+     * Hibernate regions hold Hibernate's own keys, so they are evicted through its Cache API
+     * rather than through the Spring CacheManager.
+     */
+    private void withHibernateCache(Consumer<Cache> action) {
+        entityManagerFactory.ifAvailable(emf -> action.accept(emf.getCache().unwrap(Cache.class)));
+    }
+
+    /**
+     * Per-region numbers for every Ehcache region (Hibernate and Spring caches alike).
+     * Hits, misses and puts come from Hibernate Statistics when the region belongs to Hibernate,
+     * otherwise from the JCache statistics MBean. Evictions and average get time always come from
+     * the MBean. Entry count and heap bytes are read from Ehcache's OnHeap tier statistics, because
+     * neither JCache nor hibernate-jcache regions can count their entries. Every value is a counter
+     * read, so the cost does not grow with the number of cached entries. Values a region cannot
+     * report are -1 (heap bytes are only measured for heaps sized in memory units, not in entries).
+     */
+    public List<CacheRegionStatsDto> getRegionStatistics() {
+        javax.cache.CacheManager manager = jCacheManager.getIfAvailable();
+        if (manager == null) {
+            return List.of();
+        }
+
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        Statistics hibernateStats = emf == null ? null : emf.unwrap(SessionFactory.class).getStatistics();
+        Set<String> hibernateRegions = hibernateStats != null && hibernateStats.isStatisticsEnabled()
+                ? Set.of(hibernateStats.getSecondLevelCacheRegionNames()) : Set.of();
+        StatisticsService ehcacheStats = ehcacheStatisticsService(manager);
+
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : manager.getCacheNames()) {
+            CacheRegionStatistics regionStats = hibernateRegions.contains(region)
+                    ? hibernateStats.getCacheRegionStatistics(region) : null;
+            ObjectName mbean = statisticsMBean(region);
+            TierStatistics heap = onHeapTier(ehcacheStats, region);
+
+            long hits = regionStats != null ? regionStats.getHitCount() : mbeanLong(mbean, "CacheHits");
+            long misses = regionStats != null ? regionStats.getMissCount() : mbeanLong(mbean, "CacheMisses");
+            long puts = regionStats != null ? regionStats.getPutCount() : mbeanLong(mbean, "CachePuts");
+            double hitRatio = hits >= 0 && misses >= 0 && hits + misses > 0 ? (double) hits / (hits + misses) : 0;
+
+            result.add(new CacheRegionStatsDto(
+                    region,
+                    hits,
+                    misses,
+                    hitRatio,
+                    puts,
+                    mbeanLong(mbean, "CacheEvictions"),
+                    heap != null ? heap.getMappings() : UNAVAILABLE,
+                    heap != null ? heap.getOccupiedByteSize() : UNAVAILABLE,
+                    mbeanFloat(mbean, "AverageGetTime")
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * The statistics service the Ehcache JCache manager was built with. JCache has no accessor
+     * for it and unwrapping only reaches the native CacheManager, so it is read from the manager's
+     * field. Null when the manager is not Ehcache's.
+     */
+    private static StatisticsService ehcacheStatisticsService(javax.cache.CacheManager manager) {
+        for (Field field : manager.getClass().getDeclaredFields()) {
+            if (StatisticsService.class.isAssignableFrom(field.getType())) {
+                try {
+                    field.setAccessible(true);
+                    return (StatisticsService) field.get(manager);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static TierStatistics onHeapTier(StatisticsService statisticsService, String region) {
+        if (statisticsService == null) {
+            return null;
+        }
+        try {
+            CacheStatistics cacheStatistics = statisticsService.getCacheStatistics(region);
+            return cacheStatistics == null ? null : cacheStatistics.getTierStatistics().get(ON_HEAP_TIER);
+        } catch (RuntimeException e) {
+            // Region unknown to Ehcache's statistics (e.g. created after the service looked)
+            return null;
+        }
+    }
+
+    private static ObjectName statisticsMBean(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            return names.isEmpty() ? null : names.iterator().next();
+        } catch (JMException e) {
+            return null;
+        }
+    }
+
+    private static long mbeanLong(ObjectName mbean, String attribute) {
+        Object value = mbeanAttribute(mbean, attribute);
+        return value instanceof Number number ? number.longValue() : UNAVAILABLE;
+    }
+
+    private static float mbeanFloat(ObjectName mbean, String attribute) {
+        Object value = mbeanAttribute(mbean, attribute);
+        return value instanceof Number number ? number.floatValue() : UNAVAILABLE;
+    }
+
+    private static Object mbeanAttribute(ObjectName mbean, String attribute) {
+        if (mbean == null) {
+            return null;
         }
-        if (cacheManager.getCache("doctorBySpecialty") != null) {
-            cacheManager.getCache("doctorBySpecialty").clear();
+        try {
+            return ManagementFactory.getPlatformMBeanServer().getAttribute(mbean, attribute);
+        } catch (JMException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package org.example.healthcare_appointment_system.config;
+
+import org.example.healthcare_appointment_system.metrics.QueryCounts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Executor for the independent store reads behind the patient history endpoint.
+     * With {@code spring.threads.virtual.enabled} each read gets its own virtual thread and
+     * at most {@code max-size} run at once; otherwise a bounded platform pool is used whose
+     * caller runs the read itself when the queue is full, so load degrades to sequential
+     * instead of failing. The caller's SecurityContext and query counters are carried over in both modes.
+     * Being an Executor bean, it would make Boot back off its applicationTaskExecutor, so
+     * {@code spring.task.execution.mode} is set to {@code force} to keep that one for MVC async.
+     */
+    @Bean
+    public Executor historyReadExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                        @Value("${app.history.executor.core-size:8}") int coreSize,
+                                        @Value("${app.history.executor.max-size:32}") int maxSize,
+                                        @Value("${app.history.executor.queue-capacity:200}") int queueCapacity) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("history-read-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxSize);
+            executor.setTaskDecorator(AsyncConfig::carryRequestContext);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("history-read-");
+        executor.setTaskDecorator(AsyncConfig::carryRequestContext);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    private static Runnable carryRequestContext(Runnable task) {
+        return new DelegatingSecurityContextRunnable(QueryCounts.propagate(task));
+    }
+}
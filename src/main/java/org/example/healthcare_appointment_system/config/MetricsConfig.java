@@ -0,0 +1,29 @@
+package org.example.healthcare_appointment_system.config;
+
+import org.example.healthcare_appointment_system.metrics.MongoCommandCounter;
+import org.example.healthcare_appointment_system.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Per-request SQL statement counting, see QueryCountFilter.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Per-request Mongo command counting, see QueryCountFilter.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandCounting() {
+        return settings -> settings.addCommandListener(new MongoCommandCounter());
+    }
+}
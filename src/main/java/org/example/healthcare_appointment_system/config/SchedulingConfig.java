@@ -0,0 +1,12 @@
+package org.example.healthcare_appointment_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs, currently ScheduleExpansionJob.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
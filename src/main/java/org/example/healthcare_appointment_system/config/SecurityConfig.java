@@ -1,6 +1,10 @@
 package org.example.healthcare_appointment_system.config;
 
+import org.example.healthcare_appointment_system.security.BoundedPasswordEncoder;
+import org.example.healthcare_appointment_system.security.IdempotencyFilter;
 import org.example.healthcare_appointment_system.security.JwtAuthFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.*;
@@ -10,14 +14,17 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter; //validates JWT tokens
+    private final IdempotencyFilter idempotencyFilter; //replays retried booking/prescription POSTs
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, IdempotencyFilter idempotencyFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     /**
@@ -33,6 +40,9 @@ public class SecurityConfig {
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html",
                                 "/swagger-ui/**", "/api/auth/**", "/h2-console/**").permitAll()
 
+                        // Health and Prometheus scrape endpoints, served only on management.server.port
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+
                         // ADMIN endpoints - ONLY ADMIN can access these
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
@@ -46,11 +56,24 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .headers(h -> h.frameOptions(f -> f.disable()))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // After the role checks, so only authorized requests are stored or replayed
+                .addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Keeps Spring Boot from also registering the idempotency filter with the servlet container,
+     * it must run only once, inside the security chain after authorization.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * authenticationManager is used by Spring Security to authenticate credentials (like when a user logs in).
      */
@@ -61,9 +84,15 @@ public class SecurityConfig {
 
     /**
      * passwordEncoder method that will hash the password.
+     * BCrypt runs on a core-sized pool with a bounded queue so hashing cannot starve request threads.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.bcrypt.pool-size:0}") int poolSize,
+            @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.bcrypt.max-wait-ms:2000}") long maxWaitMs) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, maxWaitMs);
     }
 }
\ No newline at end of file
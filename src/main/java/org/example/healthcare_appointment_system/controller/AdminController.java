@@ -2,16 +2,20 @@ package org.example.healthcare_appointment_system.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
 import org.example.healthcare_appointment_system.dto.*;
 import org.example.healthcare_appointment_system.repo.DoctorRepository;
 import org.example.healthcare_appointment_system.repo.UserRepository;
 import org.example.healthcare_appointment_system.service.AdminService;
 import org.example.healthcare_appointment_system.service.DoctorService;
+import org.example.healthcare_appointment_system.service.ListingExportService;
 import org.example.healthcare_appointment_system.service.PatientService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,9 +24,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AdminService adminService;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final ListingExportService listingExportService;
+    private final CacheService cacheService;
 
     @PostMapping("/create-admin")
     public ResponseEntity<AdminResponseDto> createAdmin(@Valid @RequestBody AdminDto dto) {
@@ -60,8 +68,18 @@ public class AdminController {
     }
 
     @GetMapping("/doctors")
-    public List<DoctorResponseDto> getDoctors() {
-        return doctorService.getAllDoctors();
+    public CursorPageDto<DoctorResponseDto> getDoctors(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return doctorService.getDoctorsPage(after, size);
+    }
+
+    @GetMapping(value = "/doctors/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamDoctors() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(listingExportService::streamDoctors);
     }
 
     /**
@@ -79,9 +97,25 @@ public class AdminController {
     }
 
     @GetMapping("/patients")
-    public List<PatientResponseDto> getPatients() {
-        return patientService.getAllPatients();
+    public CursorPageDto<PatientResponseDto> getPatients(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return patientService.getPatientsPage(after, size);
     }
-}
 
+    @GetMapping(value = "/patients/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPatients() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(listingExportService::streamPatients);
+    }
 
+    /**
+     * Cache APIs
+     */
+    @GetMapping("/cache-stats")
+    public List<CacheRegionStatsDto> getCacheStats() {
+        return cacheService.getRegionStatistics();
+    }
+}
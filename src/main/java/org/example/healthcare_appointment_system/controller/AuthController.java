@@ -6,9 +6,12 @@ import org.example.healthcare_appointment_system.dto.AuthRequest;
 import org.example.healthcare_appointment_system.dto.AuthResponse;
 import org.example.healthcare_appointment_system.dto.RefreshRequest;
 import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.security.CustomUserDetails;
 import org.example.healthcare_appointment_system.security.CustomUserDetailsService;
 import org.example.healthcare_appointment_system.security.JwtService;
-import org.example.healthcare_appointment_system.security.SecurityUtils;
+import org.example.healthcare_appointment_system.security.RefreshTokenService;
+import org.example.healthcare_appointment_system.security.VerifiedToken;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
@@ -30,6 +33,7 @@ public class AuthController {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthRequest request) {
@@ -49,53 +53,59 @@ public class AuthController {
                 .map(auth -> auth.replace("ROLE_", ""))
                 .collect(Collectors.toList());
 
-        // Generate JWT access token
-        String accessToken = jwtService.generateAccessToken(username, roles);
+        // Start a refresh token family for this login
+        Long userId = ((CustomUserDetails) userDetails).getUserId();
+        RefreshTokenService.IssuedRefreshToken refreshToken = refreshTokenService.startFamily(userId, username);
 
-        // Generate JWT refresh token
-        String refreshToken = jwtService.generateRefreshToken(username);
+        // Generate JWT access token (carries user id, roles and family so requests need no user lookup)
+        String accessToken = jwtService.generateAccessToken(userId, username, roles, refreshToken.familyId());
 
         return ResponseEntity.ok(new AuthResponse(
                 accessToken,
                 jwtService.getExpirationMs(),
-                refreshToken
+                refreshToken.token()
         ));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Object> logout() {
-        try {
-            Long userId = SecurityUtils.getCurrentUserId();
-
-            return ResponseEntity.ok(Map.of("message", "Logout successful"));
-        } catch (RuntimeException e) {
+    public ResponseEntity<Object> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        VerifiedToken token = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = jwtService.verifyAccessToken(authHeader.substring(7)).orElse(null);
+        }
+        if (token == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "You are already not logged in"));
         }
+
+        // Revoking the family kills the refresh chain and every access token issued from it
+        if (token.familyId() != null) {
+            refreshTokenService.revokeFamily(token.familyId());
+        }
+        return ResponseEntity.ok(Map.of("message", "Logout successful"));
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refresh(@RequestBody @Valid RefreshRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        if (!jwtService.isRefreshTokenValid(refreshToken)) {
-            throw new IllegalArgumentException("Invalid or expired refresh token");
-        }
-
-        String username = jwtService.extractUsername(refreshToken);
+        // Validates, checks the family and rotates it; a replayed token revokes the family
+        RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(refreshToken);
+        String username = jwtService.extractUsername(rotated.token());
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(auth -> auth.getAuthority().replace("ROLE_", ""))
                 .toList();
 
-        String newAccessToken = jwtService.generateAccessToken(username, roles);
-        String newRefreshToken = jwtService.generateRefreshToken(username);
+        Long userId = ((CustomUserDetails) userDetails).getUserId();
+        String newAccessToken = jwtService.generateAccessToken(userId, username, roles, rotated.familyId());
 
         return ResponseEntity.ok(new AuthResponse(
                 newAccessToken,
                 jwtService.getExpirationMs(),
-                newRefreshToken
+                rotated.token()
         ));
     }
 }
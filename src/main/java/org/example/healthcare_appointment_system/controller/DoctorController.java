@@ -17,6 +17,7 @@ import java.util.List;
 @PreAuthorize("hasRole('DOCTOR')")
 public class DoctorController {
     private final AppointmentService appointmentService;
+    private final BookingDispatcher bookingDispatcher;
     private final PatientService patientService;
     private final PrescriptionService prescriptionService;
     private final MedicalRecordService medicalRecordService;
@@ -35,7 +36,7 @@ public class DoctorController {
 
     @PutMapping("/appointments/{appointmentId}/complete")
     public ResponseEntity<AppointmentResponseDto> completeAppointment(@PathVariable Long appointmentId) {
-        AppointmentResponseDto updated = appointmentService.markAppointmentCompleted(appointmentId);
+        AppointmentResponseDto updated = bookingDispatcher.markAppointmentCompleted(appointmentId);
         return ResponseEntity.ok(updated);
     }
 
@@ -4,13 +4,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.healthcare_appointment_system.dto.*;
 import org.example.healthcare_appointment_system.service.AppointmentService;
+import org.example.healthcare_appointment_system.service.BookingDispatcher;
 import org.example.healthcare_appointment_system.service.DoctorService;
 import org.example.healthcare_appointment_system.service.PatientService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,6 +24,7 @@ public class PatientController {
     private final PatientService patientService;
     private final DoctorService doctorService;
     private final AppointmentService appointmentService;
+    private final BookingDispatcher bookingDispatcher;
 
     @GetMapping("/search-doctor")
     public ResponseEntity<List<DoctorResponseDto>> searchBySpecialty(@RequestParam String specialty) {
@@ -28,6 +32,15 @@ public class PatientController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/next-available")
+    public ResponseEntity<List<NextAvailableSlotDto>> nextAvailable(
+            @RequestParam String specialty,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(appointmentService.findNextAvailable(specialty, from, limit));
+    }
+
     @PutMapping("update-info")
     public ResponseEntity<PatientResponseDto> updateInfo(@RequestBody @Valid PatientUpdateDto dto) {
         PatientResponseDto updatedPatient = patientService.updateInfo(dto);
@@ -38,10 +51,44 @@ public class PatientController {
     public ResponseEntity<AppointmentResponseDto> bookAppointment(
             @RequestBody @Valid BookAppointmentDto dto
     ) {
-        AppointmentResponseDto response = appointmentService.bookAppointment(dto);
+        AppointmentResponseDto response = bookingDispatcher.bookAppointment(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/book-appointments")
+    public ResponseEntity<List<BatchBookingResultDto>> bookAppointments(
+            @RequestBody @Valid BatchBookAppointmentDto dto
+    ) {
+        List<BatchBookingResultDto> response = bookingDispatcher.bookAppointments(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/book-series")
+    public ResponseEntity<SeriesBookingResultDto> bookSeries(@RequestBody @Valid SeriesBookingDto dto) {
+        SeriesBookingResultDto response = bookingDispatcher.bookSeries(dto);
+        // Nothing booked: the conflicts (with alternatives) are the answer
+        HttpStatus status = response.booked().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @PostMapping("/hold-slot")
+    public ResponseEntity<SlotHoldDto> holdSlot(@RequestBody @Valid BookAppointmentDto dto) {
+        SlotHoldDto response = appointmentService.holdSlot(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<AppointmentResponseDto> confirmHold(@PathVariable String holdId) {
+        AppointmentResponseDto response = bookingDispatcher.confirmHold(holdId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        appointmentService.releaseHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/appointments")
     public ResponseEntity<List<AppointmentResponseDto>> getMyAppointments() {
         List<AppointmentResponseDto> appointments = patientService.getMyAppointments();
@@ -50,7 +97,7 @@ public class PatientController {
 
     @PutMapping("/cancel-appointment/{appointmentId}")
     public ResponseEntity<AppointmentResponseDto> cancelAppointment(@PathVariable Long appointmentId) {
-        AppointmentResponseDto response = patientService.cancelAppointment(appointmentId);
+        AppointmentResponseDto response = bookingDispatcher.cancelAppointment(appointmentId);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,21 @@
+package org.example.healthcare_appointment_system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Several bookings in one request. With {@code allOrNothing} (the default) one unbookable slot
+ * fails the whole batch; otherwise the bookable slots are booked and the rest reported per item.
+ */
+public record BatchBookAppointmentDto(
+        @NotEmpty(message = "Bookings are required")
+        @Size(max = 20, message = "At most 20 bookings per batch")
+        List<@NotNull @Valid BookAppointmentDto> bookings,
+
+        Boolean allOrNothing
+) {
+}
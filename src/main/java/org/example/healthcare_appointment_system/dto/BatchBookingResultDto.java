@@ -0,0 +1,12 @@
+package org.example.healthcare_appointment_system.dto;
+
+/**
+ * Outcome of one item of a batch booking: the appointment, or why the slot could not be booked.
+ */
+public record BatchBookingResultDto(
+        Long doctorId,
+        Long slotId,
+        AppointmentResponseDto appointment,
+        String error
+) {
+}
@@ -0,0 +1,19 @@
+package org.example.healthcare_appointment_system.dto;
+
+/**
+ * Counters for one cache region. Values a region cannot report are -1.
+ * {@code averageGetTimeMicros} is Ehcache's average read time for the region; neither Ehcache
+ * nor Hibernate time the load behind a miss, that shows up in the service method timers instead.
+ */
+public record CacheRegionStatsDto(
+        String region,
+        long hitCount,
+        long missCount,
+        double hitRatio,
+        long putCount,
+        long evictionCount,
+        long entryCount,
+        long heapBytes,
+        float averageGetTimeMicros
+) {
+}
@@ -0,0 +1,19 @@
+package org.example.healthcare_appointment_system.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code nextCursor} is the id to pass as {@code after} for the
+ * following page, or null when this was the last one.
+ */
+public record CursorPageDto<T>(
+        List<T> items,
+        Long nextCursor
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
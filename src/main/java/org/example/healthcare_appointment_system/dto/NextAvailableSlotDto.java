@@ -0,0 +1,11 @@
+package org.example.healthcare_appointment_system.dto;
+
+public record NextAvailableSlotDto(
+        Long slotId,
+        Long doctorId,
+        String doctorName,
+        String date,
+        String startTime,
+        String endTime
+) {
+}
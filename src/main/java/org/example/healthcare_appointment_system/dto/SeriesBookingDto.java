@@ -0,0 +1,34 @@
+package org.example.healthcare_appointment_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * "Every week on the weekday of {@code startDate} at {@code startTime}, {@code weeks} times" with one doctor.
+ * Without {@code allowPartial} the series is booked only if every occurrence is free.
+ */
+public record SeriesBookingDto(
+        @NotNull(message = "doctor id can not be null")
+        Long doctorId,
+
+        @NotNull(message = "start date can not be null")
+        @FutureOrPresent(message = "start date can not be in the past")
+        LocalDate startDate,
+
+        @NotNull(message = "start time can not be null")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+        LocalTime startTime,
+
+        @Min(value = 1, message = "A series has at least one occurrence")
+        @Max(value = 52, message = "A series can not be longer than 52 weeks")
+        int weeks,
+
+        boolean allowPartial
+) {
+}
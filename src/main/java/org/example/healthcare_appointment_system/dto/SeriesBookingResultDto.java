@@ -0,0 +1,9 @@
+package org.example.healthcare_appointment_system.dto;
+
+import java.util.List;
+
+public record SeriesBookingResultDto(
+        List<AppointmentResponseDto> booked,
+        List<SeriesConflictDto> conflicts
+) {
+}
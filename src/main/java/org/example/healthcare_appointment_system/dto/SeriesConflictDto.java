@@ -0,0 +1,13 @@
+package org.example.healthcare_appointment_system.dto;
+
+import java.util.List;
+
+/**
+ * An occurrence of a series that could not be booked, with the doctor's nearest free slots that day.
+ */
+public record SeriesConflictDto(
+        String date,
+        String reason,
+        List<NextAvailableSlotDto> alternatives
+) {
+}
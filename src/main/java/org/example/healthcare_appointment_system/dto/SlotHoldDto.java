@@ -0,0 +1,9 @@
+package org.example.healthcare_appointment_system.dto;
+
+public record SlotHoldDto(
+        String holdId,
+        Long slotId,
+        Long doctorId,
+        String expiresAt
+) {
+}
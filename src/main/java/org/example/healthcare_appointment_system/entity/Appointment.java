@@ -12,8 +12,12 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 public class Appointment {
+    /** Ids handed out per sequence call; also the JDBC insert batch size for appointments. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
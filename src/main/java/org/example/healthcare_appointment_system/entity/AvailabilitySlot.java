@@ -7,7 +7,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndexListener;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
@@ -15,19 +20,34 @@ import java.time.LocalTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(SlotAvailabilityIndexListener.class)
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "availabilitySlots")
 @Table(
         name = "availability_slots",
         uniqueConstraints = {
                 @UniqueConstraint(
-                        columnNames = {"doctor_id", "date", "startTime", "endTime"}
+                        columnNames = {"doctor_id", "slot_date", "startTime", "endTime"}
                 )
+        },
+        indexes = {
+                @Index(name = "idx_slot_doctor_reserved", columnList = "doctor_id, reserved"),
+                @Index(name = "idx_slot_doctor_date", columnList = "doctor_id, slot_date"),
+                @Index(name = "idx_slot_free_specialty", columnList = "doctor_specialty, reserved, slot_date, startTime")
         }
 )
 public class AvailabilitySlot {
+    /** Ids handed out per sequence call; also the JDBC insert batch size for slots. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_slot_seq")
+    @SequenceGenerator(name = "availability_slot_seq", sequenceName = "availability_slots_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Column(name = "slot_date")
+    private LocalDate slotDate;
+
     @Enumerated(EnumType.STRING)
     private WeekDay dayOfWeek;
 
@@ -40,8 +60,32 @@ public class AvailabilitySlot {
 
     private boolean reserved = false;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
+
+    /**
+     * Lower-cased copy of the doctor's specialty, so next-available search can walk one index.
+     * Set on insert; DoctorService re-copies it when the specialty changes.
+     */
+    @Column(name = "doctor_specialty")
+    private String doctorSpecialty;
+
+    /** The weekly template this slot was materialized from. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private ScheduleTemplate template;
+
+    @PrePersist
+    void copyDoctorSpecialty() {
+        if (doctorSpecialty == null && doctor != null && doctor.getSpecialty() != null) {
+            doctorSpecialty = doctor.getSpecialty().toLowerCase();
+        }
+    }
 }
 
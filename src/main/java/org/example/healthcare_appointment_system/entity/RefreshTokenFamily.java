@@ -0,0 +1,38 @@
+package org.example.healthcare_appointment_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One login session's chain of refresh tokens. Only the token whose jti matches
+ * {@code currentJti} may be exchanged; presenting an older one means the chain leaked.
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_family_revoked", columnList = "revoked, expires_at")
+})
+@Getter
+@Setter
+public class RefreshTokenFamily {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "current_jti", nullable = false, length = 36)
+    private String currentJti;
+
+    @Column(nullable = false)
+    private boolean revoked = false;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
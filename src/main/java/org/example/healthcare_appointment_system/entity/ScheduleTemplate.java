@@ -0,0 +1,57 @@
+package org.example.healthcare_appointment_system.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Recurring weekly availability of a doctor. {@link AvailabilitySlot} rows are the dated,
+ * bookable occurrences; ScheduleExpansionJob materializes them up to the rolling horizon,
+ * and {@code materializedThrough} records how far that has already happened.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+        name = "schedule_templates",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        columnNames = {"doctor_id", "dayOfWeek", "startTime", "endTime"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_template_materialized", columnList = "materialized_through")
+        }
+)
+public class ScheduleTemplate {
+    /** Ids handed out per sequence call; also the JDBC insert batch size for templates. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_template_seq")
+    @SequenceGenerator(name = "schedule_template_seq", sequenceName = "schedule_templates_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private WeekDay dayOfWeek;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime endTime;
+
+    @Column(name = "materialized_through")
+    private LocalDate materializedThrough;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+}
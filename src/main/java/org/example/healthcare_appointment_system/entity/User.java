@@ -3,6 +3,7 @@ package org.example.healthcare_appointment_system.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.example.healthcare_appointment_system.enums.Role;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
@@ -11,6 +12,8 @@ import org.example.healthcare_appointment_system.enums.Role;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,30 @@
+package org.example.healthcare_appointment_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A user whose access tokens issued up to {@code revokedAt} must be rejected. No foreign key,
+ * the user row is usually deleted together with the revocation.
+ */
+@Entity
+@Table(name = "user_revocations", indexes = {
+        @Index(name = "idx_user_revocation_at", columnList = "revoked_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,16 @@
+package org.example.healthcare_appointment_system.metrics;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Counts Mongo commands towards the current request. The sync driver raises the event on
+ * the thread that runs the operation.
+ */
+public class MongoCommandCounter implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryCounts.recordMongoCommand();
+    }
+}
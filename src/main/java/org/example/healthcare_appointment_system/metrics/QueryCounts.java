@@ -0,0 +1,77 @@
+package org.example.healthcare_appointment_system.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SQL statements and Mongo commands issued on behalf of the current request. Bound to the
+ * request thread by {@link QueryCountFilter}; tasks handed to other threads carry it along
+ * through {@link #propagate(Runnable)}.
+ */
+public final class QueryCounts {
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger sqlStatements = new AtomicInteger();
+    private final AtomicInteger mongoCommands = new AtomicInteger();
+
+    static QueryCounts start() {
+        QueryCounts counts = new QueryCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Counts of the request running on this thread, or null outside a request.
+     */
+    public static QueryCounts current() {
+        return CURRENT.get();
+    }
+
+    static void recordSqlStatement() {
+        QueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.sqlStatements.incrementAndGet();
+        }
+    }
+
+    static void recordMongoCommand() {
+        QueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.mongoCommands.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wraps a task so statements it issues on another thread count towards the submitting request.
+     */
+    public static Runnable propagate(Runnable task) {
+        QueryCounts counts = CURRENT.get();
+        if (counts == null) {
+            return task;
+        }
+        return () -> {
+            QueryCounts previous = CURRENT.get();
+            CURRENT.set(counts);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public int sqlStatements() {
+        return sqlStatements.get();
+    }
+
+    public int mongoCommands() {
+        return mongoCommands.get();
+    }
+}
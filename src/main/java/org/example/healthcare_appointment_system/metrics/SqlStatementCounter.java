@@ -0,0 +1,15 @@
+package org.example.healthcare_appointment_system.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every SQL string Hibernate prepares and counts it towards the current request.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounts.recordSqlStatement();
+        return sql;
+    }
+}
@@ -3,8 +3,12 @@ package org.example.healthcare_appointment_system.repo;
 import org.example.healthcare_appointment_system.entity.Appointment;
 import org.example.healthcare_appointment_system.enums.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -14,5 +18,11 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     boolean existsBySlotIdAndStatus(Long slotId, AppointmentStatus status);
 
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.slot WHERE a.id IN :ids")
+    List<Appointment> findAllWithSlotByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.doctor.id FROM Appointment a WHERE a.id = :id")
+    Optional<Long> findDoctorIdById(@Param("id") Long id);
+
 }
 
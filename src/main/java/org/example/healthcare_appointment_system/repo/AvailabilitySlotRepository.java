@@ -1,17 +1,91 @@
 package org.example.healthcare_appointment_system.repo;
 
+import jakarta.persistence.LockModeType;
 import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
-import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, Long> {
 
-    boolean existsByDoctorIdAndDayOfWeekAndStartTimeAndEndTime(
-            Long doctorId, WeekDay dayOfWeek, LocalTime startTime, LocalTime endTime);
+    List<AvailabilitySlot> findByDoctorIdInOrderByIdAsc(Collection<Long> doctorIds);
 
-    List<AvailabilitySlot> findByDoctorIdAndDayOfWeek(Long doctorId, WeekDay dayOfWeek);
+    @Query("SELECT new org.example.healthcare_appointment_system.repo.SlotView(" +
+            "s.id, s.slotDate, s.startTime, s.endTime, s.reserved) " +
+            "FROM AvailabilitySlot s WHERE s.doctor.user.id = :userId AND s.reserved = false " +
+            "AND s.slotDate >= :from ORDER BY s.slotDate, s.startTime")
+    List<SlotView> findUnreservedByDoctorUserId(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    /**
+     * Free slots of a specialty at or after {@code date}/{@code time}, soonest first. Filters on
+     * the slot's own copy of the specialty, so it walks idx_slot_free_specialty in order from
+     * {@code date} and stops after {@code limit} matches: the cost depends on k rather than on
+     * the number of doctors.
+     */
+    @Query("SELECT new org.example.healthcare_appointment_system.repo.FreeSlotView(" +
+            "s.id, d.id, u.username, s.slotDate, s.startTime, s.endTime) " +
+            "FROM AvailabilitySlot s JOIN s.doctor d JOIN d.user u " +
+            "WHERE s.doctorSpecialty = :specialty AND s.reserved = false AND s.slotDate >= :date " +
+            "AND NOT (s.slotDate = :date AND s.startTime < :time) " +
+            "ORDER BY s.slotDate, s.startTime, s.id")
+    List<FreeSlotView> findNextAvailable(@Param("specialty") String specialty,
+                                         @Param("date") LocalDate date,
+                                         @Param("time") LocalTime time,
+                                         Limit limit);
+
+    /**
+     * Re-copies a doctor's (lower-cased) specialty onto all their slots. Versioned, so a booking
+     * that loaded one of these slots earlier fails instead of writing the old specialty back.
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED AvailabilitySlot s SET s.doctorSpecialty = :specialty WHERE s.doctor.id = :doctorId")
+    int updateDoctorSpecialty(@Param("doctorId") Long doctorId, @Param("specialty") String specialty);
+
+    @Query("SELECT new org.example.healthcare_appointment_system.repo.SlotReservationState(s.doctor.id, s.reserved, s.version) " +
+            "FROM AvailabilitySlot s WHERE s.id = :id")
+    Optional<SlotReservationState> findReservationStateById(@Param("id") Long id);
+
+    /**
+     * The doctor's slots starting at {@code startTime} on any of {@code dates}: every occurrence
+     * of a series in one query.
+     */
+    @Query("SELECT new org.example.healthcare_appointment_system.repo.SlotView(" +
+            "s.id, s.slotDate, s.startTime, s.endTime, s.reserved) " +
+            "FROM AvailabilitySlot s WHERE s.doctor.id = :doctorId AND s.slotDate IN :dates " +
+            "AND s.startTime = :startTime")
+    List<SlotView> findByDoctorIdAndSlotDateInAndStartTime(@Param("doctorId") Long doctorId,
+                                                           @Param("dates") Collection<LocalDate> dates,
+                                                           @Param("startTime") LocalTime startTime);
+
+    @Query("SELECT new org.example.healthcare_appointment_system.repo.FreeSlotView(" +
+            "s.id, d.id, u.username, s.slotDate, s.startTime, s.endTime) " +
+            "FROM AvailabilitySlot s JOIN s.doctor d JOIN d.user u " +
+            "WHERE d.id = :doctorId AND s.reserved = false AND s.slotDate IN :dates " +
+            "ORDER BY s.slotDate, s.startTime")
+    List<FreeSlotView> findFreeByDoctorIdAndSlotDateIn(@Param("doctorId") Long doctorId,
+                                                       @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Row-locks the slots in id order, so two batches over overlapping slots never deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AvailabilitySlot s WHERE s.id IN :ids ORDER BY s.id")
+    List<AvailabilitySlot> lockAllByIdInOrder(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Slots dated before {@code before} that no appointment points at, i.e. safe to delete.
+     */
+    @Query("SELECT s.id FROM AvailabilitySlot s WHERE s.slotDate < :before " +
+            "AND NOT EXISTS (SELECT a.id FROM Appointment a WHERE a.slot = s) ORDER BY s.id")
+    List<Long> findPrunableIds(@Param("before") LocalDate before, Limit limit);
 }
 
@@ -1,27 +1,44 @@
 package org.example.healthcare_appointment_system.repo;
 
 import org.example.healthcare_appointment_system.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.specialty) = LOWER(:specialty)")
-    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "doctorBySpecialty")
+    @Query("SELECT DISTINCT d FROM Doctor d JOIN FETCH d.user LEFT JOIN FETCH d.availabilitySlots " +
+            "WHERE LOWER(d.specialty) = LOWER(:specialty)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctorBySpecialty")
+    })
     List<Doctor> findBySpecialtyIgnoreCase(@Param("specialty") String specialty);
 
     Optional<Doctor> findByUserId(Long userId);
 
-    @Override
-    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
-    Optional<Doctor> findById(Long id);
+    boolean existsByUserId(Long userId);
+
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user WHERE d.id > :afterId ORDER BY d.id")
+    List<Doctor> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user ORDER BY d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Doctor> streamAllOrderById();
 
     @Override
-    @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.availabilitySlots")
-    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "allDoctors")
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user LEFT JOIN FETCH d.availabilitySlots")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "allDoctors")
+    })
     List<Doctor> findAll();
 }
\ No newline at end of file
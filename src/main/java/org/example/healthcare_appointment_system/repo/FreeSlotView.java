@@ -0,0 +1,14 @@
+package org.example.healthcare_appointment_system.repo;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record FreeSlotView(
+        Long slotId,
+        Long doctorId,
+        String doctorName,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {
+}
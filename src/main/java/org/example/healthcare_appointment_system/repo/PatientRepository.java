@@ -2,12 +2,27 @@ package org.example.healthcare_appointment_system.repo;
 
 import org.example.healthcare_appointment_system.entity.Patient;
 import org.example.healthcare_appointment_system.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByUser(User user);
 
     Optional<Patient> findByUserId(Long userId);
+
+    @Query("SELECT p FROM Patient p JOIN FETCH p.user WHERE p.id > :afterId ORDER BY p.id")
+    List<Patient> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT p FROM Patient p JOIN FETCH p.user ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Patient> streamAllOrderById();
 }
\ No newline at end of file
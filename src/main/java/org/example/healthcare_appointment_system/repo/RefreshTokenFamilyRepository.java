@@ -0,0 +1,22 @@
+package org.example.healthcare_appointment_system.repo;
+
+import jakarta.persistence.LockModeType;
+import org.example.healthcare_appointment_system.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM RefreshTokenFamily f WHERE f.id = :id")
+    Optional<RefreshTokenFamily> findForUpdateById(@Param("id") String id);
+
+    @Query("SELECT f FROM RefreshTokenFamily f WHERE f.revoked = true AND f.expiresAt > :now")
+    List<RefreshTokenFamily> findRevokedUnexpired(@Param("now") Instant now);
+}
@@ -0,0 +1,23 @@
+package org.example.healthcare_appointment_system.repo;
+
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ScheduleTemplateRepository extends JpaRepository<ScheduleTemplate, Long> {
+
+    List<ScheduleTemplate> findByDoctorIdAndDayOfWeek(Long doctorId, WeekDay dayOfWeek);
+
+    /**
+     * Templates whose dated slots stop short of {@code horizonEnd}, oldest first.
+     */
+    @Query("SELECT t FROM ScheduleTemplate t JOIN FETCH t.doctor " +
+            "WHERE t.materializedThrough IS NULL OR t.materializedThrough < :horizonEnd ORDER BY t.id")
+    List<ScheduleTemplate> findDueForExpansion(@Param("horizonEnd") LocalDate horizonEnd, Limit limit);
+}
@@ -0,0 +1,8 @@
+package org.example.healthcare_appointment_system.repo;
+
+public record SlotReservationState(
+        Long doctorId,
+        boolean reserved,
+        long version
+) {
+}
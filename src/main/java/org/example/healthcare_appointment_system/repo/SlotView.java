@@ -0,0 +1,13 @@
+package org.example.healthcare_appointment_system.repo;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record SlotView(
+        Long id,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean reserved
+) {
+}
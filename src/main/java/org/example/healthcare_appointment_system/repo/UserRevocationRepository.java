@@ -0,0 +1,24 @@
+package org.example.healthcare_appointment_system.repo;
+
+import org.example.healthcare_appointment_system.entity.UserRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UserRevocationRepository extends JpaRepository<UserRevocation, Long> {
+
+    List<UserRevocation> findByRevokedAtAfter(Instant after);
+
+    /**
+     * Drops revocations whose tokens have all expired; returns how many it removed.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserRevocation r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,261 @@
+package org.example.healthcare_appointment_system.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the stored response of a booking or prescription POST that is retried with the same
+ * {@code Idempotency-Key} header, so the retry never reaches the service or the databases.
+ * Responses are kept in the bounded, TTL-evicting "idempotentResponses" cache region, keyed by
+ * caller, method, path and key. A duplicate that arrives while the original is still running
+ * waits for it and gets its response instead of executing a second time. Server errors are
+ * passed to waiting duplicates but never stored, so a later retry runs again. A key reused with
+ * a different request body is rejected with 422 instead of replaying the other request's response.
+ * <p>
+ * Runs only inside the security filter chain (see {@code SecurityConfig}); its servlet container
+ * registration is switched off there.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CACHE = "idempotentResponses";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT_WAIT_SECONDS = 30;
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/patient/book-appointment",
+            "/api/patient/book-appointments",
+            "/api/patient/book-series",
+            "/api/doctor/write-prescription/*");
+
+    private final CacheManager cacheManager;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public record StoredResponse(String requestDigest, int status, String contentType, byte[] body) {
+    }
+
+    private record InFlight(String requestDigest, CompletableFuture<StoredResponse> result) {
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Scoped by caller and endpoint, so keys chosen by different clients never collide
+        String key = authentication.getName() + ':' + request.getMethod() + ' ' + request.getRequestURI()
+                + ':' + idempotencyKey;
+
+        // The body is read up front for the digest and served again to the rest of the chain
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestDigest = digest(cachedRequest.body);
+
+        Cache cache = cacheManager.getCache(CACHE);
+        StoredResponse stored = cache != null ? cache.get(key, StoredResponse.class) : null;
+        if (stored != null) {
+            replayIfSameRequest(stored, requestDigest, response);
+            return;
+        }
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        InFlight running = new InFlight(requestDigest, pending);
+        InFlight original = inFlight.putIfAbsent(key, running);
+        if (original != null) {
+            if (!original.requestDigest().equals(requestDigest)) {
+                rejectDifferentRequest(response);
+                return;
+            }
+            awaitOriginal(original.result(), requestDigest, cachedRequest, response, chain);
+            return;
+        }
+
+        StoredResponse result = null;
+        try {
+            // Stored by a request that finished between the cache miss and putIfAbsent
+            stored = cache != null ? cache.get(key, StoredResponse.class) : null;
+            if (stored != null) {
+                result = stored;
+                replayIfSameRequest(stored, requestDigest, response);
+                return;
+            }
+
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(cachedRequest, wrapper);
+            result = new StoredResponse(requestDigest, wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getContentAsByteArray());
+            wrapper.copyBodyToResponse();
+
+            if (cache != null && result.status() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                cache.put(key, result);
+            }
+        } finally {
+            inFlight.remove(key, running);
+            // null (the original failed with an exception) lets waiting duplicates run themselves
+            pending.complete(result);
+        }
+    }
+
+    private void awaitOriginal(CompletableFuture<StoredResponse> original, String requestDigest,
+                               HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StoredResponse result;
+        try {
+            result = original.get(IN_FLIGHT_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        } catch (TimeoutException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+            return;
+        }
+
+        if (result == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        replayIfSameRequest(result, requestDigest, response);
+    }
+
+    private void replayIfSameRequest(StoredResponse stored, String requestDigest, HttpServletResponse response)
+            throws IOException {
+        if (!stored.requestDigest().equals(requestDigest)) {
+            rejectDifferentRequest(response);
+            return;
+        }
+        replay(stored, response);
+    }
+
+    private void rejectDifferentRequest(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                HEADER + " was already used with a different request body");
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+        response.flushBuffer();
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Holds the request body in memory so it can be digested and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
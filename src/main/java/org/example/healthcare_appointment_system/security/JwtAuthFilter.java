@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -13,15 +14,21 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final UserRevocationRegistry revokedUsers;
+    private final RevokedFamilyFilter revokedFamilies;
 
-    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService userDetailsService,
+                         UserRevocationRegistry revokedUsers, RevokedFamilyFilter revokedFamilies) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.revokedUsers = revokedUsers;
+        this.revokedFamilies = revokedFamilies;
     }
 
     @Override
@@ -32,21 +39,43 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         //Check if it’s a JWT Bearer token
         if (header != null && header.startsWith("Bearer ")) {
             final String token = header.substring(7);
-            if (jwtService.isValid(token)) {
-                String username = jwtService.extractUsername(token);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    //Store it in the security context.This makes Spring Security treat the request as authenticated.
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            // Single verification per request; repeat tokens are served from the verified-token cache
+            VerifiedToken verified = jwtService.verifyAccessToken(token)
+                    .filter(v -> !revokedUsers.isRevoked(v) && !revokedFamilies.isRevoked(v.familyId()))
+                    .orElse(null);
+            if (verified != null && verified.subject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = toPrincipal(verified);
+                var authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                //Store it in the security context.This makes Spring Security treat the request as authenticated.
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the principal from the verified claims, so authentication needs no DB query.
+     * Tokens issued before the uid claim existed fall back to a user lookup.
+     */
+    private UserDetails toPrincipal(VerifiedToken verified) {
+        if (verified.userId() == null) {
+            return userDetailsService.loadUserByUsername(verified.subject());
+        }
+        List<SimpleGrantedAuthority> authorities = verified.roles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role))
+                .toList();
+        return new CustomUserDetails(
+                verified.userId(),
+                verified.subject(),
+                "",
+                true, true, true, true,
+                authorities
+        );
+    }
+}
@@ -2,6 +2,7 @@ package org.example.healthcare_appointment_system.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 
 @Service
@@ -18,15 +21,57 @@ public class JwtService {
     private final Key key;
     private final long expirationMs;
     private final long refreshExpirationMs;
+    @Getter(AccessLevel.NONE)
+    private final JwtParser parser; // immutable and thread-safe, built once
+    @Getter(AccessLevel.NONE)
+    private final VerifiedTokenCache verifiedTokens;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration}") long expirationMs,
-            @Value("${app.jwt.refresh-expiration}") long refreshExpirationMs
+            @Value("${app.jwt.refresh-expiration}") long refreshExpirationMs,
+            VerifiedTokenCache verifiedTokens
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
         this.refreshExpirationMs = refreshExpirationMs;
+        this.parser = Jwts.parser().setSigningKey(key)// verify with the same key
+                .build();
+        this.verifiedTokens = verifiedTokens;
+    }
+
+    /**
+     * Verifies a bearer access token once and remembers the result until the token expires,
+     * so repeat requests with the same token skip parsing and the HMAC check.
+     * Returns empty for invalid, expired or non-access tokens.
+     */
+    public Optional<VerifiedToken> verifyAccessToken(String token) {
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = parse(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!"access".equals(claims.get("type", String.class)) || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        Number userId = claims.get("uid", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                userId == null ? null : userId.longValue(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.get("fam", String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
+        verifiedTokens.put(token, verified);
+        return Optional.of(verified);
     }
 
     public String extractUsername(String token) {
@@ -43,16 +88,23 @@ public class JwtService {
     }
 
     private Jws<Claims> parse(String token) {
-        return Jwts.parser().setSigningKey(key)// verify with the same key
-                .build()
-                .parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
+    }
+
+    public String generateAccessToken(Long userId, String username, Collection<String> roles) {
+        return generateAccessToken(userId, username, roles, null);
     }
 
-    public String generateAccessToken(String username, Collection<String> roles) {
+    /**
+     * Access token bound to a refresh token family, so revoking the family also cuts off this token.
+     */
+    public String generateAccessToken(Long userId, String username, Collection<String> roles, String familyId) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
                 .setSubject(username)
+                .claim("uid", userId)
+                .claim("fam", familyId)
                 .claim("roles", roles)
                 .claim("type", "access")
                 .setIssuedAt(now)
@@ -61,11 +113,13 @@ public class JwtService {
                 .compact();
     }
 
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(String username, String familyId, String jti) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + refreshExpirationMs);
         return Jwts.builder()
                 .setSubject(username)
+                .setId(jti)
+                .claim("fam", familyId)
                 .claim("type", "refresh")
                 .setIssuedAt(now)
                 .setExpiration(exp)
@@ -73,19 +127,23 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean isRefreshTokenValid(String token) {
+    /**
+     * Claims of a signature-valid, unexpired refresh token; empty otherwise.
+     */
+    public Optional<Claims> parseRefreshToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+            Claims claims = parse(token).getBody();
 
-            boolean notExpired = !claims.getBody().getExpiration().before(new Date());
-            boolean isRefresh = "refresh".equals(claims.getBody().get("type", String.class));
+            boolean notExpired = !claims.getExpiration().before(new Date());
+            boolean isRefresh = "refresh".equals(claims.get("type", String.class));
 
-            return notExpired && isRefresh;
+            return notExpired && isRefresh ? Optional.of(claims) : Optional.empty();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
+
+    public boolean isRefreshTokenValid(String token) {
+        return parseRefreshToken(token).isPresent();
+    }
 }
@@ -0,0 +1,10 @@
+package org.example.healthcare_appointment_system.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; mapped to 503 so clients back off and retry.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.healthcare_appointment_system.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare_appointment_system.entity.RefreshTokenFamily;
+import org.example.healthcare_appointment_system.repo.RefreshTokenFamilyRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Server-side refresh token families: each login starts a family, each refresh rotates
+ * it to a new jti, and presenting an already rotated token revokes the whole family
+ * (the chain has leaked). Revoked families are pushed to {@link RevokedFamilyFilter}
+ * so their access tokens stop working immediately.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RevokedFamilyFilter revokedFamilies;
+    private final JwtService jwtService;
+
+    public record IssuedRefreshToken(String familyId, String token) {
+    }
+
+    @Transactional
+    public IssuedRefreshToken startFamily(Long userId, String username) {
+        RefreshTokenFamily family = new RefreshTokenFamily();
+        family.setId(UUID.randomUUID().toString());
+        family.setUserId(userId);
+        family.setCurrentJti(UUID.randomUUID().toString());
+        family.setExpiresAt(Instant.now().plusMillis(jwtService.getRefreshExpirationMs()));
+        familyRepository.save(family);
+
+        String token = jwtService.generateRefreshToken(username, family.getId(), family.getCurrentJti());
+        return new IssuedRefreshToken(family.getId(), token);
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     * Rejections do not roll back: a detected reuse must leave the family revoked in the database.
+     */
+    @Transactional(dontRollbackOn = IllegalArgumentException.class)
+    public IssuedRefreshToken rotate(String refreshToken) {
+        Claims claims = jwtService.parseRefreshToken(refreshToken)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired refresh token"));
+        String familyId = claims.get("fam", String.class);
+        if (familyId == null || claims.getId() == null) {
+            throw new IllegalArgumentException("Invalid or expired refresh token");
+        }
+
+        RefreshTokenFamily family = familyRepository.findForUpdateById(familyId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired refresh token"));
+        if (family.isRevoked()) {
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+        if (!family.getCurrentJti().equals(claims.getId())) {
+            // An already rotated token was replayed: kill every token in the family
+            revoke(family);
+            throw new IllegalArgumentException("Refresh token reuse detected, session revoked");
+        }
+
+        family.setCurrentJti(UUID.randomUUID().toString());
+        family.setExpiresAt(Instant.now().plusMillis(jwtService.getRefreshExpirationMs()));
+        familyRepository.save(family);
+
+        String token = jwtService.generateRefreshToken(claims.getSubject(), family.getId(), family.getCurrentJti());
+        return new IssuedRefreshToken(family.getId(), token);
+    }
+
+    @Transactional
+    public void revokeFamily(String familyId) {
+        familyRepository.findForUpdateById(familyId)
+                .filter(family -> !family.isRevoked())
+                .ifPresent(this::revoke);
+    }
+
+    private void revoke(RefreshTokenFamily family) {
+        family.setRevoked(true);
+        familyRepository.save(family);
+        revokedFamilies.add(family.getId(), family.getExpiresAt());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.healthcare_appointment_system.security;
+
+import jakarta.annotation.PostConstruct;
+import org.example.healthcare_appointment_system.entity.RefreshTokenFamily;
+import org.example.healthcare_appointment_system.repo.RefreshTokenFamilyRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Constant-time "is this session revoked?" check for the JwtAuthFilter hot path.
+ * A Bloom filter answers the common case (not revoked) with a few bit reads; its rare
+ * positives are confirmed against the exact set. Rebuilt from the refresh_token_families
+ * table at startup, so revocations survive a restart. Expired families are dropped by a periodic
+ * sweep, which also rebuilds the Bloom bits so the filter does not fill up over time.
+ */
+@Component
+public class RevokedFamilyFilter {
+    private static final int BITS = 1 << 20; // ~1% false positives at ~100k revoked families
+    private static final int HASHES = 7;
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    // Swapped whole on rebuild; bits are only set under the instance lock
+    private volatile AtomicLongArray bloom = new AtomicLongArray(BITS / Long.SIZE);
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    public RevokedFamilyFilter(RefreshTokenFamilyRepository familyRepository) {
+        this.familyRepository = familyRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        for (RefreshTokenFamily family : familyRepository.findRevokedUnexpired(Instant.now())) {
+            add(family.getId(), family.getExpiresAt());
+        }
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (familyId == null || !mightContain(familyId)) {
+            return false;
+        }
+        return revoked.containsKey(familyId);
+    }
+
+    /**
+     * Records a revoked family; it only needs to be remembered until its last token expires.
+     */
+    public synchronized void add(String familyId, Instant expiresAt) {
+        revoked.put(familyId, expiresAt);
+        setBits(bloom, familyId);
+    }
+
+    /**
+     * Forgets families whose tokens have all expired and, if any were dropped, rebuilds the
+     * Bloom filter from the families still revoked.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revoked-family-sweep-ms:600000}")
+    public synchronized void pruneExpired() {
+        Instant now = Instant.now();
+        if (!revoked.values().removeIf(expiry -> expiry.isBefore(now))) {
+            return;
+        }
+
+        AtomicLongArray rebuilt = new AtomicLongArray(BITS / Long.SIZE);
+        for (String familyId : revoked.keySet()) {
+            setBits(rebuilt, familyId);
+        }
+        bloom = rebuilt;
+    }
+
+    private static void setBits(AtomicLongArray bits, String familyId) {
+        int h1 = familyId.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BITS);
+            int word = bit >>> 6;
+            bits.set(word, bits.get(word) | (1L << bit));
+        }
+    }
+
+    private boolean mightContain(String familyId) {
+        AtomicLongArray bits = bloom;
+        int h1 = familyId.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BITS);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.healthcare_appointment_system.security;
+
+import jakarta.annotation.PostConstruct;
+import org.example.healthcare_appointment_system.entity.UserRevocation;
+import org.example.healthcare_appointment_system.repo.UserRevocationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users whose already issued access tokens must stop working (deleted or disabled accounts).
+ * The principal is built from JWT claims without a DB lookup, so this is what cuts such
+ * a user off before their tokens expire. Revocations are written to the user_revocations
+ * table and reloaded at startup, so a restart does not revive those tokens. Entries are
+ * dropped once every token issued before the revocation has expired anyway.
+ */
+@Component
+public class UserRevocationRegistry {
+    private final Map<Long, Instant> revokedAt = new ConcurrentHashMap<>();
+    private final UserRevocationRepository revocationRepository;
+    private final long accessTokenLifetimeMs;
+
+    public UserRevocationRegistry(UserRevocationRepository revocationRepository,
+                                  @Value("${app.jwt.expiration}") long accessTokenLifetimeMs) {
+        this.revocationRepository = revocationRepository;
+        this.accessTokenLifetimeMs = accessTokenLifetimeMs;
+    }
+
+    @PostConstruct
+    void load() {
+        Instant cutoff = Instant.now().minusMillis(accessTokenLifetimeMs);
+        for (UserRevocation revocation : revocationRepository.findByRevokedAtAfter(cutoff)) {
+            revokedAt.put(revocation.getUserId(), revocation.getRevokedAt());
+        }
+    }
+
+    public void revoke(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        revokedAt.put(userId, now);
+
+        Instant cutoff = now.minusMillis(accessTokenLifetimeMs);
+        revokedAt.values().removeIf(at -> at.isBefore(cutoff));
+        revocationRepository.deleteRevokedBefore(cutoff);
+        revocationRepository.save(new UserRevocation(userId, now));
+    }
+
+    /**
+     * True if the token belongs to a revoked user and was issued at or before the revocation
+     * (JWT iat has second precision, so same-second tokens count as revoked).
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.userId() == null) {
+            return false;
+        }
+        Instant at = revokedAt.get(token.userId());
+        return at != null && (token.issuedAt() == null || !token.issuedAt().isAfter(at));
+    }
+}
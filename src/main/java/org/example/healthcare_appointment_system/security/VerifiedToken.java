@@ -0,0 +1,22 @@
+package org.example.healthcare_appointment_system.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of an access token whose signature and expiry have already been checked.
+ * {@code userId} is null for tokens issued before the uid claim existed; {@code familyId}
+ * is the refresh token family (login session) the token belongs to, if any.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        List<String> roles,
+        String familyId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
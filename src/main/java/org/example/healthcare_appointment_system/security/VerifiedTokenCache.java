@@ -0,0 +1,117 @@
+package org.example.healthcare_appointment_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of already verified access tokens, keyed by the SHA-256 of the token.
+ * An entry lives exactly until the token's own {@code exp}, so a cache hit is as good as
+ * a fresh signature check. Only the digest is kept, never the raw token.
+ * <p>
+ * Lookups are a plain {@link ConcurrentHashMap} read plus setting a "referenced" bit, so the
+ * per-request path takes no lock. When full, a CLOCK sweep over insertion order evicts
+ * entries not used since their last pass and gives used ones a second chance, which keeps
+ * active sessions cached like LRU would; expired ones are dropped whenever the sweep reaches
+ * them. Only one put sweeps at a time, the others skip it.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public VerifiedTokenCache(@Value("${app.jwt.verified-cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        // Expired entries stay until the sweep reaches them, so every entry is queued exactly once
+        if (entry == null || entry.token.isExpired(Instant.now())) {
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.token;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        Entry entry = new Entry(digest(token), verified);
+        if (entries.putIfAbsent(entry.key, entry) != null) {
+            return;
+        }
+        clock.add(entry);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        clock.clear();
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            while (entries.size() > maxEntries) {
+                Entry candidate = clock.poll();
+                if (candidate == null) {
+                    return;
+                }
+                // Dropped by a concurrent clear()
+                if (entries.get(candidate.key) != candidate) {
+                    continue;
+                }
+                if (candidate.referenced && !candidate.token.isExpired(now)) {
+                    candidate.referenced = false;
+                    clock.add(candidate);
+                } else {
+                    entries.remove(candidate.key, candidate);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final VerifiedToken token;
+        private volatile boolean referenced;
+
+        private Entry(String key, VerifiedToken token) {
+            this.key = key;
+            this.token = token;
+        }
+    }
+}
@@ -3,25 +3,29 @@ package org.example.healthcare_appointment_system.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.healthcare_appointment_system.dto.*;
-import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
 import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
 import org.example.healthcare_appointment_system.entity.User;
 import org.example.healthcare_appointment_system.enums.Role;
-import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
 import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.ScheduleTemplateRepository;
 import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.util.DisjointTimeRanges;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     private final UserRepository userRepository;
-    private final AvailabilitySlotRepository slotRepository;
+    private final ScheduleTemplateRepository templateRepository;
+    private final ScheduleExpander scheduleExpander;
     private final DoctorRepository doctorRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -58,57 +62,59 @@ public class AdminService {
         );
     }
 
+    /**
+     * Adds weekly slots for one day of the week in one pass: the doctor's existing templates for
+     * that day are loaded once, every requested range is checked against them and against the
+     * other requested ranges, and the new templates are materialized into dated slots up to the
+     * schedule horizon right away (JDBC-batched through the pooled slot id sequence).
+     */
     @Transactional
     public List<SlotResponseDto> addDaySlots(Long doctorId, DaySlotsCreateDto dto) {
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
 
-        List<SlotResponseDto> createdSlots = new ArrayList<>();
+        DisjointTimeRanges schedule = new DisjointTimeRanges();
+        Set<LocalTime> existingStarts = new HashSet<>();
+        for (ScheduleTemplate existing : templateRepository.findByDoctorIdAndDayOfWeek(doctorId, dto.dayOfWeek())) {
+            schedule.add(existing.getStartTime(), existing.getEndTime());
+            existingStarts.add(existing.getStartTime());
+        }
 
+        List<ScheduleTemplate> templates = new ArrayList<>(dto.slots().size());
         for (TimeRangeDto range : dto.slots()) {
             if (!range.startTime().isBefore(range.endTime())) {
                 throw new RuntimeException("Start time must be before end time");
             }
 
-            // Check duplicates
-            boolean exists = slotRepository.existsByDoctorIdAndDayOfWeekAndStartTimeAndEndTime(
-                    doctorId, dto.dayOfWeek(), range.startTime(), range.endTime());
-            if (exists) {
-                throw new RuntimeException("Slot already exists: " + range.startTime() + " - " + range.endTime());
-            }
-
-            // Check overlaps
-            List<AvailabilitySlot> existingSlots =
-                    slotRepository.findByDoctorIdAndDayOfWeek(doctorId, dto.dayOfWeek());
-
-            boolean overlaps = existingSlots.stream().anyMatch(slot ->
-                    range.startTime().isBefore(slot.getEndTime()) &&
-                            range.endTime().isAfter(slot.getStartTime())
-            );
-
-            if (overlaps) {
-                throw new RuntimeException("Slot overlaps with existing slot on " + dto.dayOfWeek());
+            Map.Entry<LocalTime, LocalTime> overlap = schedule.findOverlap(range.startTime(), range.endTime());
+            if (overlap != null) {
+                boolean existing = existingStarts.contains(overlap.getKey());
+                if (existing && overlap.getKey().equals(range.startTime()) && overlap.getValue().equals(range.endTime())) {
+                    throw new RuntimeException("Slot already exists: " + range.startTime() + " - " + range.endTime());
+                }
+                throw new RuntimeException(existing
+                        ? "Slot overlaps with existing slot on " + dto.dayOfWeek()
+                        : "Slot " + range.startTime() + " - " + range.endTime() + " overlaps with another slot in this request");
             }
-
-            // Save slot
-            AvailabilitySlot slot = new AvailabilitySlot();
-            slot.setDoctor(doctor);
-            slot.setDayOfWeek(dto.dayOfWeek());
-            slot.setStartTime(range.startTime());
-            slot.setEndTime(range.endTime());
-            slot.setReserved(false);
-
-            AvailabilitySlot saved = slotRepository.save(slot);
-
-            createdSlots.add(new SlotResponseDto(
-                    saved.getId(),
-                    saved.getDayOfWeek().name(),
-                    saved.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                    saved.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                    saved.isReserved()
-            ));
+            schedule.add(range.startTime(), range.endTime());
+
+            ScheduleTemplate template = new ScheduleTemplate();
+            template.setDoctor(doctor);
+            template.setDayOfWeek(dto.dayOfWeek());
+            template.setStartTime(range.startTime());
+            template.setEndTime(range.endTime());
+            templates.add(template);
         }
-        return createdSlots;
+
+        List<ScheduleTemplate> saved = templateRepository.saveAll(templates);
+        return scheduleExpander.materialize(saved, scheduleExpander.horizonEnd()).stream()
+                .map(slot -> new SlotResponseDto(
+                        slot.getId(),
+                        slot.getSlotDate().toString(),
+                        slot.getStartTime().format(TIME_FORMATTER),
+                        slot.getEndTime().format(TIME_FORMATTER),
+                        slot.isReserved()
+                ))
+                .toList();
     }
 }
-
@@ -8,7 +8,14 @@ import org.example.healthcare_appointment_system.AOP.CancelAppointmentCheck;
 import org.example.healthcare_appointment_system.dto.AppointmentDto;
 import org.example.healthcare_appointment_system.dto.AppointmentResponseDto;
 import org.example.healthcare_appointment_system.dto.AvailabilitySlotResponseDto;
+import org.example.healthcare_appointment_system.dto.BatchBookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.BatchBookingResultDto;
 import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.NextAvailableSlotDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingResultDto;
+import org.example.healthcare_appointment_system.dto.SeriesConflictDto;
+import org.example.healthcare_appointment_system.dto.SlotHoldDto;
 import org.example.healthcare_appointment_system.entity.Appointment;
 import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
 import org.example.healthcare_appointment_system.entity.Doctor;
@@ -17,25 +24,43 @@ import org.example.healthcare_appointment_system.enums.AppointmentStatus;
 import org.example.healthcare_appointment_system.repo.AppointmentRepository;
 import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
 import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.FreeSlotView;
 import org.example.healthcare_appointment_system.repo.PatientRepository;
+import org.example.healthcare_appointment_system.repo.SlotReservationState;
+import org.example.healthcare_appointment_system.repo.SlotView;
 import org.example.healthcare_appointment_system.security.SecurityUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
+    private static final int MAX_NEXT_AVAILABLE = 50;
+    private static final int MAX_SERIES_ALTERNATIVES = 3;
+
     private final AvailabilitySlotRepository slotRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
     private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final SlotAvailabilityIndex slotIndex;
+    private final SlotHoldRegistry slotHolds;
 
     public List<AppointmentResponseDto> getMyAppointments() {
         Long currentUserId = SecurityUtils.getCurrentUserId();
@@ -51,7 +76,7 @@ public class AppointmentService {
                             a.getId(),
                             a.getDoctor().getUser().getUsername(),
                             a.getPatient().getUser().getUsername(),
-                            slot.getDayOfWeek().name(),  // use day of week instead of date
+                            slot.getSlotDate().toString(),
                             slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                             slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                             a.getStatus().name()
@@ -60,56 +85,354 @@ public class AppointmentService {
                 .toList();
     }
 
+    @Transactional(dontRollbackOn = SlotUnavailableException.class)
     public AppointmentResponseDto bookAppointment(BookAppointmentDto dto) {
+        // Reject slots known to be taken before any database round trip
+        if (slotIndex.isReserved(dto.slotId())) {
+            throw new SlotUnavailableException("This slot is already booked");
+        }
+
+        return book(dto, SecurityUtils.getCurrentUserId());
+    }
+
+    /**
+     * First phase of "hold then confirm": keeps the slot for the current patient for a short
+     * while without touching it in the database, so others stop racing for it.
+     */
+    public SlotHoldDto holdSlot(BookAppointmentDto dto) {
+        if (slotIndex.isReserved(dto.slotId())) {
+            throw new SlotUnavailableException("This slot is already booked");
+        }
+
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+
+        SlotReservationState state = slotRepository.findReservationStateById(dto.slotId())
+                .orElseThrow(() -> new RuntimeException("Slot not found"));
+        if (!state.doctorId().equals(dto.doctorId())) {
+            throw new RuntimeException("Slot does not belong to this doctor");
+        }
+        if (state.reserved()) {
+            throw new SlotUnavailableException("This slot is already booked");
+        }
+
+        SlotHoldRegistry.SlotHold hold = slotHolds.acquire(dto.slotId(), dto.doctorId(), currentUserId);
+        return new SlotHoldDto(hold.id(), hold.slotId(), hold.doctorId(), hold.expiresAt().toString());
+    }
+
+    /**
+     * Second phase: books the held slot. Fails if the hold expired or belongs to someone else.
+     */
+    @Transactional(dontRollbackOn = SlotUnavailableException.class)
+    public AppointmentResponseDto confirmHold(String holdId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+
+        SlotHoldRegistry.SlotHold hold = slotHolds.find(holdId)
+                .filter(h -> h.userId().equals(currentUserId))
+                .orElseThrow(() -> new SlotUnavailableException("Hold not found or expired"));
+
+        return book(new BookAppointmentDto(hold.doctorId(), hold.slotId()), currentUserId);
+    }
+
+    public void releaseHold(String holdId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+
+        SlotHoldRegistry.SlotHold hold = slotHolds.find(holdId)
+                .filter(h -> h.userId().equals(currentUserId))
+                .orElseThrow(() -> new IllegalStateException("Hold not found or expired"));
+
+        slotHolds.release(hold.slotId(), currentUserId);
+    }
+
+    /**
+     * Books several slots for the current patient in one transaction. The slots are row-locked in
+     * id order (no deadlocks between overlapping batches) and the appointments are inserted as one
+     * JDBC batch. All-or-nothing unless the caller asks for per-item results.
+     */
+    @Transactional(dontRollbackOn = SlotUnavailableException.class)
+    public List<BatchBookingResultDto> bookAppointments(BatchBookAppointmentDto dto) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
+        boolean allOrNothing = dto.allOrNothing() == null || dto.allOrNothing();
 
         Patient patient = patientRepository.findByUserId(currentUserId)
                 .orElseThrow(() -> new RuntimeException("Patient not found for current user"));
 
-        // Check if the slot is already booked
-        if (appointmentRepository.existsBySlotIdAndStatus(dto.slotId(), AppointmentStatus.BOOKED)) {
-            throw new IllegalStateException("This slot is already booked");
+        List<Long> slotIds = dto.bookings().stream().map(BookAppointmentDto::slotId).distinct().sorted().toList();
+        Map<Long, AvailabilitySlot> slots = slotRepository.lockAllByIdInOrder(slotIds).stream()
+                .collect(Collectors.toMap(AvailabilitySlot::getId, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        Set<Long> claimed = new HashSet<>();
+        List<String> errors = new ArrayList<>(dto.bookings().size());
+        for (BookAppointmentDto booking : dto.bookings()) {
+            String error = checkBookable(booking, slots.get(booking.slotId()), currentUserId, today, claimed);
+            if (error != null && allOrNothing) {
+                throw new SlotUnavailableException("Slot " + booking.slotId() + ": " + error);
+            }
+            errors.add(error);
         }
 
-        // Find doctor and slot
-        Doctor doctor = doctorRepository.findById(dto.doctorId())
-                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < dto.bookings().size(); i++) {
+            if (errors.get(i) != null) {
+                continue;
+            }
+            // Locked above, so a plain dirty-checked update is safe (and runs the index listener)
+            AvailabilitySlot slot = slots.get(dto.bookings().get(i).slotId());
+            slot.setReserved(true);
 
-        AvailabilitySlot slot = slotRepository.findById(dto.slotId())
-                .orElseThrow(() -> new RuntimeException("Slot not found"));
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(slot.getDoctor());
+            appointment.setPatient(patient);
+            appointment.setSlot(slot);
+            appointment.setAppointmentTime(LocalDateTime.of(slot.getSlotDate(), slot.getStartTime()));
+            appointment.setStatus(AppointmentStatus.BOOKED);
+            appointments.add(appointment);
+        }
+
+        Iterator<Appointment> saved = appointmentRepository.saveAll(appointments).iterator();
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        List<BatchBookingResultDto> results = new ArrayList<>(dto.bookings().size());
+        for (int i = 0; i < dto.bookings().size(); i++) {
+            BookAppointmentDto booking = dto.bookings().get(i);
+            if (errors.get(i) != null) {
+                results.add(new BatchBookingResultDto(booking.doctorId(), booking.slotId(), null, errors.get(i)));
+                continue;
+            }
+            Appointment appointment = saved.next();
+            AvailabilitySlot slot = appointment.getSlot();
+            slotHolds.release(slot.getId(), currentUserId);
+            results.add(new BatchBookingResultDto(booking.doctorId(), booking.slotId(), new AppointmentResponseDto(
+                    appointment.getId(),
+                    appointment.getDoctor().getUser().getUsername(),
+                    appointment.getPatient().getUser().getUsername(),
+                    slot.getSlotDate().toString(),
+                    slot.getStartTime().format(timeFormatter),
+                    slot.getEndTime().format(timeFormatter),
+                    appointment.getStatus().name()
+            ), null));
+        }
+        return results;
+    }
 
+    /**
+     * Why the locked slot cannot be booked by this batch item, or null if it can (and is now claimed).
+     */
+    private String checkBookable(BookAppointmentDto booking, AvailabilitySlot slot, Long currentUserId,
+                                 LocalDate today, Set<Long> claimed) {
+        if (slot == null) {
+            return "Slot not found";
+        }
+        if (!slot.getDoctor().getId().equals(booking.doctorId())) {
+            return "Slot does not belong to this doctor";
+        }
         if (slot.isReserved()) {
-            throw new RuntimeException("This slot is already booked");
+            return "This slot is already booked";
+        }
+        if (slot.getSlotDate().isBefore(today)) {
+            return "This slot is in the past";
+        }
+        if (slotHolds.isHeldByOther(slot.getId(), currentUserId)) {
+            return "This slot is on hold by another patient";
+        }
+        if (!claimed.add(slot.getId())) {
+            return "Slot appears more than once in the batch";
+        }
+        return null;
+    }
+
+    /**
+     * Books a weekly series with one doctor for the current patient. All occurrences are looked
+     * up in one query and reserved by versioned updates flushed together. Occurrences that cannot
+     * be booked are reported with the doctor's closest free slots on that day; unless partial
+     * booking is allowed, any such conflict books nothing.
+     */
+    @Transactional(dontRollbackOn = SlotUnavailableException.class)
+    public SeriesBookingResultDto bookSeries(SeriesBookingDto dto) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (dto.startDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("A series can not start in the past");
         }
 
-        // Mark the slot as reserved
-        slot.setReserved(true);
-        slotRepository.save(slot);
+        Patient patient = patientRepository.findByUserId(currentUserId)
+                .orElseThrow(() -> new RuntimeException("Patient not found for current user"));
+
+        List<LocalDate> dates = IntStream.range(0, dto.weeks())
+                .mapToObj(week -> dto.startDate().plusWeeks(week))
+                .toList();
+
+        // Prefer a free slot if the doctor has several starting at this time on a day
+        Map<LocalDate, SlotView> slotsByDate = slotRepository
+                .findByDoctorIdAndSlotDateInAndStartTime(dto.doctorId(), dates, dto.startTime())
+                .stream()
+                .collect(Collectors.toMap(SlotView::slotDate, Function.identity(),
+                        (a, b) -> a.reserved() ? b : a));
+
+        Map<LocalDate, String> conflicts = new LinkedHashMap<>();
+        List<Long> freeSlotIds = new ArrayList<>();
+        for (LocalDate date : dates) {
+            SlotView slot = slotsByDate.get(date);
+            if (slot == null) {
+                conflicts.put(date, "No slot at this time");
+            } else if (slot.reserved()) {
+                conflicts.put(date, "This slot is already booked");
+            } else if (slotHolds.isHeldByOther(slot.id(), currentUserId)) {
+                conflicts.put(date, "This slot is on hold by another patient");
+            } else {
+                freeSlotIds.add(slot.id());
+            }
+        }
+
+        List<SeriesConflictDto> conflictDtos = conflicts.isEmpty()
+                ? List.of()
+                : suggestAlternatives(dto, conflicts, currentUserId);
+        if (freeSlotIds.isEmpty() || (!conflicts.isEmpty() && !dto.allowPartial())) {
+            return new SeriesBookingResultDto(List.of(), conflictDtos);
+        }
 
-        LocalDate date = LocalDate.now().with(TemporalAdjusters.nextOrSame(
-                DayOfWeek.valueOf(slot.getDayOfWeek().name())
-        ));
+        List<AvailabilitySlot> slots = slotRepository.findAllById(freeSlotIds).stream()
+                .sorted(Comparator.comparing(AvailabilitySlot::getSlotDate))
+                .toList();
+        // Someone booking one of them since the lookup rolls the whole series back
+        if (slots.stream().anyMatch(AvailabilitySlot::isReserved)) {
+            throw new SlotUnavailableException("Some of these slots were just booked, please try again");
+        }
+        slots.forEach(slot -> slot.setReserved(true));
+        try {
+            slotRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new IllegalStateException("Some of these slots were just booked, please try again");
+        }
+
+        List<Appointment> appointments = new ArrayList<>(slots.size());
+        for (AvailabilitySlot slot : slots) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(slot.getDoctor());
+            appointment.setPatient(patient);
+            appointment.setSlot(slot);
+            appointment.setAppointmentTime(LocalDateTime.of(slot.getSlotDate(), slot.getStartTime()));
+            appointment.setStatus(AppointmentStatus.BOOKED);
+            appointments.add(appointment);
+        }
+
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+        List<AppointmentResponseDto> booked = appointmentRepository.saveAll(appointments).stream()
+                .map(a -> {
+                    slotHolds.release(a.getSlot().getId(), currentUserId);
+                    return new AppointmentResponseDto(
+                            a.getId(),
+                            a.getDoctor().getUser().getUsername(),
+                            a.getPatient().getUser().getUsername(),
+                            a.getSlot().getSlotDate().toString(),
+                            a.getSlot().getStartTime().format(timeFormatter),
+                            a.getSlot().getEndTime().format(timeFormatter),
+                            a.getStatus().name()
+                    );
+                })
+                .toList();
+
+        return new SeriesBookingResultDto(booked, conflictDtos);
+    }
+
+    /**
+     * The doctor's free slots on every conflicting day in one query, closest to the requested time first.
+     */
+    private List<SeriesConflictDto> suggestAlternatives(SeriesBookingDto dto, Map<LocalDate, String> conflicts,
+                                                        Long currentUserId) {
+        Map<LocalDate, List<FreeSlotView>> freeByDate = slotRepository
+                .findFreeByDoctorIdAndSlotDateIn(dto.doctorId(), conflicts.keySet())
+                .stream()
+                .filter(slot -> !slotHolds.isHeldByOther(slot.slotId(), currentUserId))
+                .collect(Collectors.groupingBy(FreeSlotView::slotDate));
+
+        int requested = dto.startTime().toSecondOfDay();
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        return conflicts.entrySet().stream()
+                .map(conflict -> new SeriesConflictDto(
+                        conflict.getKey().toString(),
+                        conflict.getValue(),
+                        freeByDate.getOrDefault(conflict.getKey(), List.of()).stream()
+                                .sorted(Comparator.comparingInt(
+                                        slot -> Math.abs(slot.startTime().toSecondOfDay() - requested)))
+                                .limit(MAX_SERIES_ALTERNATIVES)
+                                .map(slot -> new NextAvailableSlotDto(
+                                        slot.slotId(),
+                                        slot.doctorId(),
+                                        slot.doctorName(),
+                                        slot.slotDate().toString(),
+                                        slot.startTime().format(timeFormatter),
+                                        slot.endTime().format(timeFormatter)
+                                ))
+                                .toList()
+                ))
+                .toList();
+    }
+
+    private AppointmentResponseDto book(BookAppointmentDto dto, Long currentUserId) {
+        // Someone else is filling in the form for this slot
+        if (slotHolds.isHeldByOther(dto.slotId(), currentUserId)) {
+            throw new SlotUnavailableException("This slot is on hold by another patient");
+        }
+
+        Patient patient = patientRepository.findByUserId(currentUserId)
+                .orElseThrow(() -> new RuntimeException("Patient not found for current user"));
+
+        // Atomically flip the slot to reserved; exactly one concurrent booking wins
+        AvailabilitySlot slot = reserveSlot(dto);
+        Doctor doctor = slot.getDoctor();
 
         Appointment appointment = new Appointment();
         appointment.setDoctor(doctor);
         appointment.setPatient(patient);
         appointment.setSlot(slot);
-        appointment.setAppointmentTime(LocalDateTime.of(date, slot.getStartTime()));
+        appointment.setAppointmentTime(LocalDateTime.of(slot.getSlotDate(), slot.getStartTime()));
         appointment.setStatus(AppointmentStatus.BOOKED);
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        slotHolds.release(dto.slotId(), currentUserId);
 
         return new AppointmentResponseDto(
                 savedAppointment.getId(),
                 savedAppointment.getDoctor().getUser().getUsername(),
                 savedAppointment.getPatient().getUser().getUsername(),
-                slot.getDayOfWeek().name(),
+                slot.getSlotDate().toString(),
                 slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 savedAppointment.getStatus().name()
         );
     }
 
+    /**
+     * Reserves the slot through a versioned entity update: Hibernate's UPDATE only matches the
+     * version that was read, so of two concurrent bookings the second one fails on flush. Unlike
+     * a bulk JPQL update this evicts just this slot from the second-level cache, not the region.
+     */
+    private AvailabilitySlot reserveSlot(BookAppointmentDto dto) {
+        AvailabilitySlot slot = slotRepository.findById(dto.slotId())
+                .orElseThrow(() -> new RuntimeException("Slot not found"));
+
+        if (!slot.getDoctor().getId().equals(dto.doctorId())) {
+            throw new RuntimeException("Slot does not belong to this doctor");
+        }
+        if (slot.isReserved()) {
+            throw new SlotUnavailableException("This slot is already booked");
+        }
+        // Past slots only linger until the next prune
+        if (slot.getSlotDate().isBefore(LocalDate.now())) {
+            throw new SlotUnavailableException("This slot is in the past");
+        }
+
+        slot.setReserved(true);
+        try {
+            slotRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            // Not a SlotUnavailableException: after a failed flush the transaction has to roll back
+            throw new IllegalStateException("This slot is already booked");
+        }
+        return slot;
+    }
+
     public AppointmentResponseDto markAppointmentCompleted(Long appointmentId) {
         Long currentDoctorId = SecurityUtils.getCurrentUserId();
 
@@ -127,45 +450,65 @@ public class AppointmentService {
             throw new RuntimeException("Cannot complete an appointment that is not reserved");
         }
 
+        // The dated slot stays reserved: it has been used and never comes round again
         appointment.setStatus(AppointmentStatus.COMPLETED);
 
-        appointment.getSlot().setReserved(false);
-
         Appointment saved = appointmentRepository.save(appointment);
-        slotRepository.save(appointment.getSlot());
 
         return new AppointmentResponseDto(
                 saved.getId(),
                 saved.getDoctor().getUser().getUsername(),
                 saved.getPatient().getUser().getUsername(),
-                saved.getSlot().getDayOfWeek().name(),
+                saved.getSlot().getSlotDate().toString(),
                 saved.getSlot().getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 saved.getSlot().getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 saved.getStatus().name()
         );
     }
 
+    /**
+     * The {@code limit} soonest free slots across all doctors of a specialty, starting at
+     * {@code from} (or now; earlier times are clamped to now).
+     */
+    public List<NextAvailableSlotDto> findNextAvailable(String specialty, LocalDateTime from, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        int k = Math.max(1, Math.min(limit, MAX_NEXT_AVAILABLE));
+
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        return slotRepository.findNextAvailable(specialty.trim().toLowerCase(),
+                        start.toLocalDate(), start.toLocalTime(), Limit.of(k))
+                .stream()
+                .map(slot -> new NextAvailableSlotDto(
+                        slot.slotId(),
+                        slot.doctorId(),
+                        slot.doctorName(),
+                        slot.slotDate().toString(),
+                        slot.startTime().format(timeFormatter),
+                        slot.endTime().format(timeFormatter)
+                ))
+                .toList();
+    }
+
     public List<AvailabilitySlotResponseDto> getMyAvailableSlots() {
         Long currentUserId = SecurityUtils.getCurrentUserId();
 
-        Doctor doctor = doctorRepository.findAll().stream()
-                .filter(d -> d.getUser().getId().equals(currentUserId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Doctor profile not found for user ID: " + currentUserId));
+        List<SlotView> slots = availabilitySlotRepository.findUnreservedByDoctorUserId(currentUserId, LocalDate.now());
 
-        List<AvailabilitySlot> slots = availabilitySlotRepository.findAll().stream()
-                .filter(s -> s.getDoctor().getId().equals(doctor.getId()) && !s.isReserved())
-                .toList();
+        if (slots.isEmpty() && !doctorRepository.existsByUserId(currentUserId)) {
+            throw new RuntimeException("Doctor profile not found for user ID: " + currentUserId);
+        }
 
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
         return slots.stream()
                 .map(slot -> new AvailabilitySlotResponseDto(
-                        slot.getId(),
-                        slot.getDayOfWeek().name(),  // use day of week instead of date
-                        slot.getStartTime().format(timeFormatter),
-                        slot.getEndTime().format(timeFormatter),
-                        slot.isReserved()
+                        slot.id(),
+                        slot.slotDate().toString(),
+                        slot.startTime().format(timeFormatter),
+                        slot.endTime().format(timeFormatter),
+                        slot.reserved()
                 ))
                 .toList();
     }
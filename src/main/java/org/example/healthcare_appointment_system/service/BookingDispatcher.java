@@ -0,0 +1,91 @@
+package org.example.healthcare_appointment_system.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare_appointment_system.dto.AppointmentResponseDto;
+import org.example.healthcare_appointment_system.dto.BatchBookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.BatchBookingResultDto;
+import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingResultDto;
+import org.example.healthcare_appointment_system.repo.AppointmentRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Entry point for booking writes. Calls the services directly, or routes them through the
+ * doctor's {@link BookingLanes} lane when {@code app.booking.lanes.enabled} is set.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingDispatcher {
+    private final AppointmentService appointmentService;
+    private final PatientService patientService;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotHoldRegistry slotHolds;
+    private final ObjectProvider<BookingLanes> bookingLanes;
+
+    public AppointmentResponseDto bookAppointment(BookAppointmentDto dto) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        if (lanes == null) {
+            return appointmentService.bookAppointment(dto);
+        }
+        return lanes.submit(dto.doctorId(), () -> appointmentService.bookAppointment(dto));
+    }
+
+    /**
+     * Batches for a single doctor run on that doctor's lane. A batch spanning several doctors
+     * cannot sit in one lane without giving up its single transaction, so it runs directly.
+     * That is still safe: it row-locks its slots in id order, and lane bookings reserve through
+     * a versioned update of the same rows. Either one waits for the other's commit, and the
+     * loser sees the slot as taken.
+     */
+    public List<BatchBookingResultDto> bookAppointments(BatchBookAppointmentDto dto) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        List<Long> doctorIds = dto.bookings().stream().map(BookAppointmentDto::doctorId).distinct().toList();
+        if (lanes == null || doctorIds.size() != 1) {
+            return appointmentService.bookAppointments(dto);
+        }
+        return lanes.submit(doctorIds.get(0), () -> appointmentService.bookAppointments(dto));
+    }
+
+    public AppointmentResponseDto confirmHold(String holdId) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        // An unknown or expired hold is rejected by the service itself, no lane needed
+        SlotHoldRegistry.SlotHold hold = lanes == null ? null : slotHolds.find(holdId).orElse(null);
+        if (hold == null) {
+            return appointmentService.confirmHold(holdId);
+        }
+        return lanes.submit(hold.doctorId(), () -> appointmentService.confirmHold(holdId));
+    }
+
+    public SeriesBookingResultDto bookSeries(SeriesBookingDto dto) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        if (lanes == null) {
+            return appointmentService.bookSeries(dto);
+        }
+        return lanes.submit(dto.doctorId(), () -> appointmentService.bookSeries(dto));
+    }
+
+    public AppointmentResponseDto cancelAppointment(Long appointmentId) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        if (lanes == null) {
+            return patientService.cancelAppointment(appointmentId);
+        }
+        return lanes.submit(doctorIdOf(appointmentId), () -> patientService.cancelAppointment(appointmentId));
+    }
+
+    public AppointmentResponseDto markAppointmentCompleted(Long appointmentId) {
+        BookingLanes lanes = bookingLanes.getIfAvailable();
+        if (lanes == null) {
+            return appointmentService.markAppointmentCompleted(appointmentId);
+        }
+        return lanes.submit(doctorIdOf(appointmentId), () -> appointmentService.markAppointmentCompleted(appointmentId));
+    }
+
+    private Long doctorIdOf(Long appointmentId) {
+        return appointmentRepository.findDoctorIdById(appointmentId)
+                .orElseThrow(() -> new RuntimeException("Appointment not found"));
+    }
+}
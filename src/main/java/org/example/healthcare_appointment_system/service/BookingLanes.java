@@ -0,0 +1,203 @@
+package org.example.healthcare_appointment_system.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Striped single-writer executors for booking writes. Every doctor id maps to one lane, so
+ * all bookings, cancellations and completions of a doctor run one after another on the
+ * same thread instead of queueing on the same slot rows in the database. A lane drains
+ * whatever has piled up (up to {@code max-batch} commands) and runs it in one transaction.
+ * A command rejected with {@link SlotUnavailableException} (slot taken, held, past) wrote
+ * nothing, so it fails on its own and the rest of the batch still commits; under contention
+ * that is the common case. Any other failure rolls the batch back and re-runs its commands
+ * one transaction each, so a single bad request never takes its neighbours down with it.
+ * Callers block until their command is committed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.booking.lanes.enabled", havingValue = "true")
+public class BookingLanes {
+    private final TransactionTemplate transactionTemplate;
+    private final List<Lane> lanes;
+    private final int maxBatch;
+    private volatile boolean running = true;
+
+    public BookingLanes(PlatformTransactionManager transactionManager,
+                        @Value("${app.booking.lanes.count:8}") int count,
+                        @Value("${app.booking.lanes.max-batch:32}") int maxBatch) {
+        if (count < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("Booking lanes need at least one lane and a batch size of at least one");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatch = maxBatch;
+        this.lanes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Lane lane = new Lane();
+            Thread thread = new Thread(lane, "booking-lane-" + i);
+            thread.setDaemon(true);
+            lane.thread = thread;
+            lanes.add(lane);
+            thread.start();
+        }
+    }
+
+    /**
+     * Runs the command on the doctor's lane with the caller's security context and waits for
+     * its transaction to commit. Runtime exceptions thrown by the command reach the caller as is.
+     */
+    public <T> T submit(Long doctorId, Supplier<T> work) {
+        if (!running) {
+            throw new IllegalStateException("Booking lanes are shut down");
+        }
+
+        Command<T> command = new Command<>(work, SecurityContextHolder.getContext());
+        lanes.get(Math.floorMod(Objects.hashCode(doctorId), lanes.size())).queue.add(command);
+
+        try {
+            return command.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking lane", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+        for (Lane lane : lanes) {
+            List<Command<?>> pending = new ArrayList<>();
+            lane.queue.drainTo(pending);
+            pending.forEach(c -> c.result.completeExceptionally(
+                    new IllegalStateException("Booking lanes are shut down")));
+        }
+    }
+
+    private void runBatch(List<Command<?>> batch) {
+        if (batch.size() == 1) {
+            runAlone(batch.get(0));
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<Object> values = new ArrayList<>(batch.size());
+                for (Command<?> command : batch) {
+                    try {
+                        values.add(command.call());
+                    } catch (SlotUnavailableException e) {
+                        values.add(new Rejection(e));
+                    } catch (RuntimeException e) {
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                }
+                return values;
+            });
+        } catch (RuntimeException e) {
+            // Failed at commit (e.g. a constraint checked on flush)
+            results = null;
+        }
+
+        if (results == null) {
+            batch.forEach(this::runAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (results.get(i) instanceof Rejection rejection) {
+                batch.get(i).result.completeExceptionally(rejection.cause());
+            } else {
+                batch.get(i).complete(results.get(i));
+            }
+        }
+    }
+
+    private <T> void runAlone(Command<T> command) {
+        try {
+            command.result.complete(transactionTemplate.execute(status -> command.call()));
+        } catch (Throwable e) {
+            command.result.completeExceptionally(e);
+        }
+    }
+
+    private record Rejection(SlotUnavailableException cause) {
+    }
+
+    private final class Lane implements Runnable {
+        private final BlockingQueue<Command<?>> queue = new LinkedBlockingQueue<>();
+        private Thread thread;
+
+        @Override
+        public void run() {
+            List<Command<?>> batch = new ArrayList<>(maxBatch);
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                try {
+                    runBatch(batch);
+                } catch (Throwable e) {
+                    log.error("Booking lane batch failed", e);
+                    batch.forEach(c -> c.result.completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> work;
+        private final SecurityContext securityContext;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Command(Supplier<T> work, SecurityContext securityContext) {
+            this.work = work;
+            this.securityContext = securityContext;
+        }
+
+        private T call() {
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return work.get();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+}
@@ -6,10 +6,15 @@ import org.example.healthcare_appointment_system.cacheTest.CacheService;
 import org.example.healthcare_appointment_system.dto.*;
 import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
 import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
 import org.example.healthcare_appointment_system.entity.User;
 import org.example.healthcare_appointment_system.enums.Role;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
 import org.example.healthcare_appointment_system.repo.DoctorRepository;
 import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,14 +24,21 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DoctorService {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     private final UserRepository userRepository;
     private final DoctorRepository doctorRepository;
     private final PasswordEncoder passwordEncoder;
     private final CacheService cacheService;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final UserRevocationRegistry userRevocations;
+    private final ScheduleExpander scheduleExpander;
 
     @Transactional
     public DoctorResponseDto createDoctor(DoctorDto dto) {
@@ -58,34 +70,35 @@ public class DoctorService {
         doctor.setSpecialty(dto.specialty());
 
         // Handle weekly slots if provided
+        List<ScheduleTemplate> templates = new ArrayList<>();
         if (dto.slots() != null && !dto.slots().isEmpty()) {
-            List<AvailabilitySlot> slots = new ArrayList<>();
-
             for (DaySlotsCreateDto daySlots : dto.slots()) {
                 for (TimeRangeDto range : daySlots.slots()) {
-                    AvailabilitySlot slot = new AvailabilitySlot();
-                    slot.setDoctor(doctor);
-                    slot.setDayOfWeek(daySlots.dayOfWeek());
-                    slot.setStartTime(range.startTime());
-                    slot.setEndTime(range.endTime());
-                    slot.setReserved(false);
-                    slots.add(slot);
+                    ScheduleTemplate template = new ScheduleTemplate();
+                    template.setDoctor(doctor);
+                    template.setDayOfWeek(daySlots.dayOfWeek());
+                    template.setStartTime(range.startTime());
+                    template.setEndTime(range.endTime());
+                    templates.add(template);
                 }
             }
-
-            doctor.setAvailabilitySlots(slots);
         }
+        doctor.setScheduleTemplates(templates);
 
         Doctor savedDoctor = doctorRepository.save(doctor);
 
+        // Dated slots for the schedule horizon; the expansion job keeps extending them
+        List<AvailabilitySlot> materialized = templates.isEmpty()
+                ? List.of() : scheduleExpander.materialize(templates, scheduleExpander.horizonEnd());
+
         // Clear relevant caches after creating a new doctor
         cacheService.evictAllDoctorsCache();
         cacheService.evictDoctorBySpecialtyCache(savedDoctor.getSpecialty());
 
-        List<AvailabilitySlotResponseDto> slots = savedDoctor.getAvailabilitySlots().stream()
+        List<AvailabilitySlotResponseDto> slots = materialized.stream()
                 .map(slot -> new AvailabilitySlotResponseDto(
                         slot.getId(),
-                        slot.getDayOfWeek().name(),
+                        slot.getSlotDate().toString(),
                         slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                         slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                         slot.isReserved()
@@ -111,7 +124,7 @@ public class DoctorService {
                             .stream()
                             .map(slot -> new AvailabilitySlotResponseDto(
                                     slot.getId(),
-                                    slot.getDayOfWeek().name(),
+                                    slot.getSlotDate().toString(),
                                     slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                                     slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                                     slot.isReserved()
@@ -130,6 +143,50 @@ public class DoctorService {
                 .toList();
     }
 
+    /**
+     * Keyset page of doctors ordered by id. Slots for the whole page are loaded with one query.
+     */
+    public CursorPageDto<DoctorResponseDto> getDoctorsPage(Long afterId, int size) {
+        int pageSize = CursorPageDto.clampSize(size);
+        List<Doctor> doctors = doctorRepository.findPageAfter(afterId == null ? 0L : afterId, Limit.of(pageSize));
+
+        List<DoctorResponseDto> items = toResponseDtos(doctors, availabilitySlotRepository);
+        Long nextCursor = doctors.size() == pageSize ? doctors.get(doctors.size() - 1).getId() : null;
+
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    static List<DoctorResponseDto> toResponseDtos(List<Doctor> doctors, AvailabilitySlotRepository slotRepository) {
+        if (doctors.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<AvailabilitySlot>> slotsByDoctor = slotRepository
+                .findByDoctorIdInOrderByIdAsc(doctors.stream().map(Doctor::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(slot -> slot.getDoctor().getId()));
+
+        return doctors.stream()
+                .map(doctor -> new DoctorResponseDto(
+                        doctor.getId(),
+                        doctor.getUser().getUsername(),
+                        doctor.getUser().getEmail(),
+                        doctor.getUser().getPhone(),
+                        doctor.getSpecialty(),
+                        slotsByDoctor.getOrDefault(doctor.getId(), List.of())
+                                .stream()
+                                .map(slot -> new AvailabilitySlotResponseDto(
+                                        slot.getId(),
+                                        slot.getSlotDate().toString(),
+                                        slot.getStartTime().format(TIME_FORMATTER),
+                                        slot.getEndTime().format(TIME_FORMATTER),
+                                        slot.isReserved()
+                                ))
+                                .toList()
+                ))
+                .toList();
+    }
+
     public ResponseEntity<String> deleteDoctor(Long id) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
@@ -145,6 +202,8 @@ public class DoctorService {
 
         if (user != null) {
             userRepository.delete(user);
+            // Outstanding access tokens are trusted without a DB lookup, so cut them off explicitly
+            userRevocations.revoke(user.getId());
         }
 
         return ResponseEntity.ok("Doctor deleted successfully");
@@ -177,6 +236,8 @@ public class DoctorService {
         // If specialty changed, clear both old and new specialty caches
         if (!oldSpecialty.equals(dto.specialty())) {
             cacheService.evictDoctorBySpecialtyCache(oldSpecialty);
+            availabilitySlotRepository.updateDoctorSpecialty(doctor.getId(),
+                    dto.specialty() == null ? null : dto.specialty().toLowerCase());
         }
         cacheService.evictDoctorBySpecialtyCache(dto.specialty());
 
@@ -184,7 +245,7 @@ public class DoctorService {
                 .stream()
                 .map(slot -> new AvailabilitySlotResponseDto(
                         slot.getId(),
-                        slot.getDayOfWeek().name(),
+                        slot.getSlotDate().toString(),
                         slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                         slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                         slot.isReserved()
@@ -201,8 +262,14 @@ public class DoctorService {
         );
     }
 
+    /**
+     * Hot path for patient search. Results are cached as ready-to-serialize DTOs per
+     * normalized specialty; {@link CacheService} evicts an entry whenever a doctor of that
+     * specialty or one of their slots changes.
+     */
+    @Cacheable(cacheNames = CacheService.DOCTOR_SEARCH_RESULTS, key = "#specialty.trim().toLowerCase()")
     public List<DoctorResponseDto> searchBySpecialty(String specialty) {
-        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
+        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty.trim());
 
         if (doctors.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No doctors found with specialty: " + specialty);
@@ -214,9 +281,9 @@ public class DoctorService {
                             .stream()
                             .map(slot -> new AvailabilitySlotResponseDto(
                                     slot.getId(),
-                                    slot.getDayOfWeek().name(),
-                                    slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                                    slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
+                                    slot.getSlotDate().toString(),
+                                    slot.getStartTime().format(TIME_FORMATTER),
+                                    slot.getEndTime().format(TIME_FORMATTER),
                                     slot.isReserved()
                             ))
                             .toList();
@@ -232,4 +299,4 @@ public class DoctorService {
                 })
                 .toList();
     }
-}
\ No newline at end of file
+}
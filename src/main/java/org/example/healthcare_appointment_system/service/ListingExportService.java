@@ -0,0 +1,105 @@
+package org.example.healthcare_appointment_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.Patient;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.PatientRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the admin doctor / patient listings as NDJSON straight from an open DB cursor.
+ * Rows are handled in fixed-size chunks and the persistence context is cleared after
+ * each one, so memory stays flat regardless of table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListingExportService {
+    private static final int CHUNK_SIZE = 200;
+    private static final byte NEWLINE = '\n';
+
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public void streamDoctors(OutputStream out) {
+        readOnly(() -> {
+            try (Stream<Doctor> doctors = doctorRepository.streamAllOrderById()) {
+                List<Doctor> chunk = new ArrayList<>(CHUNK_SIZE);
+                doctors.forEach(doctor -> {
+                    chunk.add(doctor);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        writeDoctors(chunk, out);
+                    }
+                });
+                writeDoctors(chunk, out);
+            }
+        });
+    }
+
+    public void streamPatients(OutputStream out) {
+        readOnly(() -> {
+            try (Stream<Patient> patients = patientRepository.streamAllOrderById()) {
+                List<Patient> chunk = new ArrayList<>(CHUNK_SIZE);
+                patients.forEach(patient -> {
+                    chunk.add(patient);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        writePatients(chunk, out);
+                    }
+                });
+                writePatients(chunk, out);
+            }
+        });
+    }
+
+    private void writeDoctors(List<Doctor> chunk, OutputStream out) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        writeLines(DoctorService.toResponseDtos(chunk, availabilitySlotRepository), out);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private void writePatients(List<Patient> chunk, OutputStream out) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        writeLines(chunk.stream().map(PatientService::toResponseDto).toList(), out);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private void writeLines(List<?> rows, OutputStream out) {
+        try {
+            for (Object row : rows) {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readOnly(Runnable action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> action.run());
+    }
+}
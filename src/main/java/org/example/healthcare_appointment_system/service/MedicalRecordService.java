@@ -14,6 +14,9 @@ import org.springframework.stereotype.Service;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,12 +34,20 @@ public class MedicalRecordService {
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
+        // Resolve every referenced appointment (and its slot) in one query
+        Map<Long, Appointment> appointments = appointmentRepository.findAllWithSlotByIdIn(
+                        prescriptions.stream().map(Prescription::getAppointmentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
         List<PrescriptionHistoryDto> history = prescriptions.stream()
                 .map(p -> {
-                    Appointment appointment = appointmentRepository.findById(p.getAppointmentId())
-                            .orElseThrow(() -> new RuntimeException("Appointment not found: " + p.getAppointmentId()));
+                    Appointment appointment = appointments.get(p.getAppointmentId());
+                    if (appointment == null) {
+                        throw new RuntimeException("Appointment not found: " + p.getAppointmentId());
+                    }
 
-                    String day = appointment.getSlot().getDayOfWeek().name();
+                    String day = appointment.getSlot().getSlotDate().toString();
                     String time = appointment.getSlot().getStartTime().format(timeFormatter) +
                             " - " + appointment.getSlot().getEndTime().format(timeFormatter);
 
@@ -3,6 +3,8 @@ package org.example.healthcare_appointment_system.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.healthcare_appointment_system.AOP.CancelAppointmentCheck;
+import org.example.healthcare_appointment_system.document.MedicalRecord;
+import org.example.healthcare_appointment_system.document.Prescription;
 import org.example.healthcare_appointment_system.dto.*;
 import org.example.healthcare_appointment_system.entity.Appointment;
 import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
@@ -12,6 +14,9 @@ import org.example.healthcare_appointment_system.enums.AppointmentStatus;
 import org.example.healthcare_appointment_system.enums.Role;
 import org.example.healthcare_appointment_system.repo.*;
 import org.example.healthcare_appointment_system.security.SecurityUtils;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,16 +24,27 @@ import org.springframework.stereotype.Service;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PatientService {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
     private final UserRepository userRepository;
     private final PatientRepository patientRepository;
     private final PasswordEncoder passwordEncoder;
     private final AppointmentRepository appointmentRepository;
     private final PrescriptionRepository prescriptionRepository;
     private final MedicalRecordRepository medicalRecordRepository;
+    @Qualifier("historyReadExecutor")
+    private final Executor historyReadExecutor;
+    private final UserRevocationRegistry userRevocations;
 
     @Transactional
     public PatientResponseDto createPatient(PatientDto dto) {
@@ -81,6 +97,8 @@ public class PatientService {
 
         if (user != null) {
             userRepository.delete(user);
+            // Outstanding access tokens are trusted without a DB lookup, so cut them off explicitly
+            userRevocations.revoke(user.getId());
         }
         return ResponseEntity.ok("Patient deleted successfully");
     }
@@ -88,16 +106,35 @@ public class PatientService {
     public List<PatientResponseDto> getAllPatients() {
         return patientRepository.findAll()
                 .stream()
-                .map(patient -> new PatientResponseDto(
-                        patient.getId(),
-                        patient.getUser().getUsername(),
-                        patient.getUser().getEmail(),
-                        patient.getGender().name(),
-                        patient.getDateOfBirth().format(DateTimeFormatter.ofPattern("dd-MM-yyyy"))
-                ))
+                .map(PatientService::toResponseDto)
                 .toList();
     }
 
+    /**
+     * Keyset page of patients ordered by id.
+     */
+    public CursorPageDto<PatientResponseDto> getPatientsPage(Long afterId, int size) {
+        int pageSize = CursorPageDto.clampSize(size);
+        List<Patient> patients = patientRepository.findPageAfter(afterId == null ? 0L : afterId, Limit.of(pageSize));
+
+        List<PatientResponseDto> items = patients.stream()
+                .map(PatientService::toResponseDto)
+                .toList();
+        Long nextCursor = patients.size() == pageSize ? patients.get(patients.size() - 1).getId() : null;
+
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    static PatientResponseDto toResponseDto(Patient patient) {
+        return new PatientResponseDto(
+                patient.getId(),
+                patient.getUser().getUsername(),
+                patient.getUser().getEmail(),
+                patient.getGender().name(),
+                patient.getDateOfBirth().format(DATE_FORMATTER)
+        );
+    }
+
     public PatientResponseDto updateInfo(PatientUpdateDto dto) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
 
@@ -135,7 +172,7 @@ public class PatientService {
                             app.getId(),
                             app.getDoctor().getUser().getUsername(),
                             app.getPatient().getUser().getUsername(),
-                            slot.getDayOfWeek().name(),                     // day of week instead of date
+                            slot.getSlotDate().toString(),
                             slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                             slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                             app.getStatus().name()
@@ -159,7 +196,7 @@ public class PatientService {
                 appointment.getId(),
                 appointment.getDoctor().getUser().getUsername(),
                 appointment.getPatient().getUser().getUsername(),
-                slot.getDayOfWeek().name(),
+                slot.getSlotDate().toString(),
                 slot.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 slot.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
                 appointment.getStatus().name()
@@ -187,9 +224,7 @@ public class PatientService {
     public PatientMedicalHistoryDto getPatientHistory() {
         Long currentUserId = SecurityUtils.getCurrentUserId();
 
-        Patient patient = patientRepository.findAll().stream()
-                .filter(p -> p.getUser().getId().equals(currentUserId))
-                .findFirst()
+        Patient patient = patientRepository.findByUserId(currentUserId)
                 .orElseThrow(() -> new RuntimeException("Patient profile not found for user ID: " + currentUserId));
 
         Long patientId = patient.getId();
@@ -197,13 +232,28 @@ public class PatientService {
 
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
-        List<PrescriptionHistoryDto> prescriptions = prescriptionRepository.findByPatientId(patientId)
+        // The two Mongo reads are independent, so run them side by side
+        CompletableFuture<List<Prescription>> prescriptionsFuture = CompletableFuture.supplyAsync(
+                () -> prescriptionRepository.findByPatientId(patientId), historyReadExecutor);
+        CompletableFuture<List<MedicalRecord>> medicalRecordsFuture = CompletableFuture.supplyAsync(
+                () -> medicalRecordRepository.findByPatientId(patientId), historyReadExecutor);
+
+        List<Prescription> patientPrescriptions = await(prescriptionsFuture);
+
+        // Resolve every referenced appointment (and its slot) in one query
+        Map<Long, Appointment> appointments = appointmentRepository.findAllWithSlotByIdIn(
+                        patientPrescriptions.stream().map(Prescription::getAppointmentId).collect(Collectors.toSet()))
                 .stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        List<PrescriptionHistoryDto> prescriptions = patientPrescriptions.stream()
                 .map(p -> {
-                    Appointment appointment = appointmentRepository.findById(p.getAppointmentId())
-                            .orElseThrow(() -> new RuntimeException("Appointment not found: " + p.getAppointmentId()));
+                    Appointment appointment = appointments.get(p.getAppointmentId());
+                    if (appointment == null) {
+                        throw new RuntimeException("Appointment not found: " + p.getAppointmentId());
+                    }
 
-                    String day = appointment.getSlot().getDayOfWeek().name();
+                    String day = appointment.getSlot().getSlotDate().toString();
                     String time = appointment.getSlot().getStartTime().format(timeFormatter) +
                             " - " + appointment.getSlot().getEndTime().format(timeFormatter);
 
@@ -215,7 +265,7 @@ public class PatientService {
                 })
                 .toList();
 
-        List<MedicalRecordHistoryDto> medicalRecords = medicalRecordRepository.findByPatientId(patientId)
+        List<MedicalRecordHistoryDto> medicalRecords = await(medicalRecordsFuture)
                 .stream()
                 .map(r -> new MedicalRecordHistoryDto(
                         DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")
@@ -227,5 +277,15 @@ public class PatientService {
 
         return new PatientMedicalHistoryDto(patientId, patientName, prescriptions, medicalRecords);
     }
-}
 
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
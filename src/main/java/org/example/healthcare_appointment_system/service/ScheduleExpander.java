@@ -0,0 +1,118 @@
+package org.example.healthcare_appointment_system.service;
+
+import jakarta.transaction.Transactional;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.ScheduleTemplateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Turns weekly {@link ScheduleTemplate}s into dated {@link AvailabilitySlot} rows.
+ * Each template remembers the last date it was materialized for, so every run only
+ * creates the days that newly entered the horizon.
+ */
+@Service
+public class ScheduleExpander {
+    private final ScheduleTemplateRepository templateRepository;
+    private final AvailabilitySlotRepository slotRepository;
+    private final SlotAvailabilityIndex slotIndex;
+    private final CacheService cacheService;
+    private final int horizonWeeks;
+
+    public ScheduleExpander(ScheduleTemplateRepository templateRepository,
+                            AvailabilitySlotRepository slotRepository,
+                            SlotAvailabilityIndex slotIndex,
+                            CacheService cacheService,
+                            @Value("${app.schedule.horizon-weeks:8}") int horizonWeeks) {
+        this.templateRepository = templateRepository;
+        this.slotRepository = slotRepository;
+        this.slotIndex = slotIndex;
+        this.cacheService = cacheService;
+        this.horizonWeeks = horizonWeeks;
+    }
+
+    public LocalDate horizonEnd() {
+        return LocalDate.now().plusWeeks(horizonWeeks);
+    }
+
+    /**
+     * Creates the missing dated slots of the given (already persisted) templates up to
+     * {@code horizonEnd} and advances their watermark. Returns the new slots in template order.
+     */
+    @Transactional
+    public List<AvailabilitySlot> materialize(List<ScheduleTemplate> templates, LocalDate horizonEnd) {
+        LocalDate today = LocalDate.now();
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        Map<Long, Doctor> doctors = new HashMap<>();
+
+        for (ScheduleTemplate template : templates) {
+            LocalDate from = template.getMaterializedThrough() == null || template.getMaterializedThrough().isBefore(today)
+                    ? today : template.getMaterializedThrough().plusDays(1);
+            LocalDate date = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(template.getDayOfWeek().name())));
+
+            for (; !date.isAfter(horizonEnd); date = date.plusWeeks(1)) {
+                AvailabilitySlot slot = new AvailabilitySlot();
+                slot.setDoctor(template.getDoctor());
+                slot.setTemplate(template);
+                slot.setSlotDate(date);
+                slot.setDayOfWeek(template.getDayOfWeek());
+                slot.setStartTime(template.getStartTime());
+                slot.setEndTime(template.getEndTime());
+                slot.setReserved(false);
+                slots.add(slot);
+            }
+            template.setMaterializedThrough(horizonEnd);
+            doctors.putIfAbsent(template.getDoctor().getId(), template.getDoctor());
+        }
+
+        templateRepository.saveAll(templates);
+        List<AvailabilitySlot> saved = slotRepository.saveAll(slots);
+
+        // New rows on the inverse side do not touch the cached Doctor.availabilitySlots collection
+        doctors.values().forEach(doctor -> {
+            cacheService.evictDoctorCache(doctor.getId());
+            cacheService.evictDoctorSearchResults(doctor.getSpecialty());
+        });
+        return saved;
+    }
+
+    /**
+     * Materializes one batch of templates that fall short of the horizon.
+     * Returns how many templates were processed.
+     */
+    @Transactional
+    public int expandDue(LocalDate horizonEnd, int batchSize) {
+        List<ScheduleTemplate> due = templateRepository.findDueForExpansion(horizonEnd, Limit.of(batchSize));
+        if (!due.isEmpty()) {
+            materialize(due, horizonEnd);
+        }
+        return due.size();
+    }
+
+    /**
+     * Deletes one batch of slots dated before {@code before} that were never booked.
+     * Booked slots stay, since appointments keep referencing them. Returns the number deleted.
+     */
+    @Transactional
+    public int pruneBefore(LocalDate before, int batchSize) {
+        List<Long> ids = slotRepository.findPrunableIds(before, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        slotRepository.deleteAllByIdInBatch(ids);
+        // Bulk deletes skip the entity listener; an untracked slot just falls through to the DB check
+        ids.forEach(slotIndex::remove);
+        cacheService.clearAllDoctorCaches();
+        return ids.size();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.healthcare_appointment_system.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the dated slot table on a rolling horizon: once at startup and then daily it
+ * materializes the template days that entered the horizon and deletes never-booked
+ * slots that are in the past. Both steps run in short batched transactions.
+ */
+@Slf4j
+@Component
+public class ScheduleExpansionJob {
+    private final ScheduleExpander expander;
+    private final int batchSize;
+
+    public ScheduleExpansionJob(ScheduleExpander expander,
+                                @Value("${app.schedule.batch-size:200}") int batchSize) {
+        this.expander = expander;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.schedule.expansion-cron:0 0 2 * * *}")
+    public void run() {
+        LocalDate horizonEnd = expander.horizonEnd();
+        int templates = 0;
+        for (int processed; (processed = expander.expandDue(horizonEnd, batchSize)) > 0; ) {
+            templates += processed;
+        }
+
+        int pruned = 0;
+        for (int deleted; (deleted = expander.pruneBefore(LocalDate.now(), batchSize)) > 0; ) {
+            pruned += deleted;
+        }
+        log.info("Schedule expanded through {}: {} templates extended, {} past slots pruned",
+                horizonEnd, templates, pruned);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.healthcare_appointment_system.service;
+
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident availability index: one bit per slot, grouped by doctor and week day.
+ * Lets booking reject an already taken slot in O(1) before touching the database.
+ * Fed only by committed slot writes, never by reads. Unknown slots are reported as free
+ * so the caller falls through to the DB check.
+ */
+@Component
+public class SlotAvailabilityIndex {
+    private final Map<Long, DoctorSlots> doctors = new ConcurrentHashMap<>();
+    private final Map<Long, SlotPosition> positions = new ConcurrentHashMap<>();
+
+    public boolean isReserved(Long slotId) {
+        if (slotId == null) {
+            return false;
+        }
+        SlotPosition position = positions.get(slotId);
+        if (position == null) {
+            return false;
+        }
+        DoctorSlots slots = doctors.get(position.doctorId());
+        return slots != null && slots.isReserved(position);
+    }
+
+    /**
+     * Registers the slot (if new) and records its current reserved flag.
+     */
+    public void track(AvailabilitySlot slot) {
+        if (slot.getId() == null || slot.getDoctor() == null || slot.getDayOfWeek() == null) {
+            return;
+        }
+        Long doctorId = slot.getDoctor().getId();
+        DoctorSlots slots = doctors.computeIfAbsent(doctorId, id -> new DoctorSlots());
+        SlotPosition position = positions.computeIfAbsent(slot.getId(),
+                id -> slots.allocate(doctorId, slot.getDayOfWeek()));
+        slots.set(position, slot.isReserved());
+    }
+
+    /**
+     * Updates the reserved flag of an already known slot. Unknown slots are ignored.
+     */
+    public void setReserved(Long slotId, boolean reserved) {
+        SlotPosition position = positions.get(slotId);
+        if (position == null) {
+            return;
+        }
+        DoctorSlots slots = doctors.get(position.doctorId());
+        if (slots != null) {
+            slots.set(position, reserved);
+        }
+    }
+
+    public void remove(Long slotId) {
+        SlotPosition position = positions.remove(slotId);
+        if (position == null) {
+            return;
+        }
+        DoctorSlots slots = doctors.get(position.doctorId());
+        if (slots != null) {
+            slots.release(position);
+        }
+    }
+
+    private record SlotPosition(Long doctorId, WeekDay day, int bit) {
+    }
+
+    private static final class DoctorSlots {
+        private final EnumMap<WeekDay, BitSet> allocated = new EnumMap<>(WeekDay.class);
+        private final EnumMap<WeekDay, BitSet> reserved = new EnumMap<>(WeekDay.class);
+
+        synchronized SlotPosition allocate(Long doctorId, WeekDay day) {
+            BitSet used = allocated.computeIfAbsent(day, d -> new BitSet());
+            int bit = used.nextClearBit(0);
+            used.set(bit);
+            return new SlotPosition(doctorId, day, bit);
+        }
+
+        synchronized void set(SlotPosition position, boolean value) {
+            reserved.computeIfAbsent(position.day(), d -> new BitSet()).set(position.bit(), value);
+        }
+
+        synchronized boolean isReserved(SlotPosition position) {
+            BitSet bits = reserved.get(position.day());
+            return bits != null && bits.get(position.bit());
+        }
+
+        synchronized void release(SlotPosition position) {
+            BitSet used = allocated.get(position.day());
+            if (used != null) {
+                used.clear(position.bit());
+            }
+            BitSet bits = reserved.get(position.day());
+            if (bits != null) {
+                bits.clear(position.bit());
+            }
+        }
+    }
+}
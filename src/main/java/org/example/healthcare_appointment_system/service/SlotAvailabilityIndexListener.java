@@ -0,0 +1,69 @@
+package org.example.healthcare_appointment_system.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link SlotAvailabilityIndex} in step with every slot write that goes
+ * through JPA (repository saves, dirty checking, cascades from Doctor), and drops
+ * the cached specialty search results of the owning doctor on every change.
+ * State is applied after commit so a rolled back booking (whose versioned update
+ * was already flushed in its own transaction) never shows up as taken.
+ * Loads are deliberately not tracked: a reader's snapshot can be older than a
+ * cancellation committed meanwhile, and one callback per loaded slot would pile up
+ * in long read transactions such as the listing export.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotAvailabilityIndexListener {
+    private final SlotAvailabilityIndex slotIndex;
+    private final CacheService cacheService;
+
+    @PostPersist
+    @PostUpdate
+    public void onStateChange(AvailabilitySlot slot) {
+        track(slot);
+        evictSearchResults(slot);
+    }
+
+    @PostRemove
+    public void onRemove(AvailabilitySlot slot) {
+        Long slotId = slot.getId();
+        afterCommit(() -> slotIndex.remove(slotId));
+        evictSearchResults(slot);
+    }
+
+    private void track(AvailabilitySlot slot) {
+        boolean reserved = slot.isReserved();
+        afterCommit(() -> {
+            slotIndex.track(slot);
+            slotIndex.setReserved(slot.getId(), reserved);
+        });
+    }
+
+    private void evictSearchResults(AvailabilitySlot slot) {
+        if (slot.getDoctor() != null) {
+            cacheService.evictDoctorSearchResults(slot.getDoctor().getSpecialty());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
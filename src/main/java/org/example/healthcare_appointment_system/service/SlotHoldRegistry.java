@@ -0,0 +1,111 @@
+package org.example.healthcare_appointment_system.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.healthcare_appointment_system.util.HashedTimerWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory lease table for "hold then confirm" booking: at most one patient holds a slot
+ * at a time, for {@code app.booking.hold-seconds}. Expiry is driven by a hashed timer wheel,
+ * so releasing a hold costs no database work and holding 100k slots costs one map entry
+ * and one wheel entry each. Holds are local to this instance, like {@link SlotAvailabilityIndex};
+ * the versioned update in booking remains the final arbiter.
+ */
+@Component
+public class SlotHoldRegistry {
+    private final Map<Long, Lease> leasesBySlot = new ConcurrentHashMap<>();
+    private final Map<String, Lease> leasesById = new ConcurrentHashMap<>();
+    private final HashedTimerWheel wheel = new HashedTimerWheel("slot-hold-expiry", 100, TimeUnit.MILLISECONDS, 1024);
+    private final long holdMillis;
+
+    public SlotHoldRegistry(@Value("${app.booking.hold-seconds:120}") long holdSeconds) {
+        this.holdMillis = TimeUnit.SECONDS.toMillis(holdSeconds);
+    }
+
+    public record SlotHold(String id, Long slotId, Long doctorId, Long userId, Instant expiresAt) {
+    }
+
+    private static final class Lease {
+        private final SlotHold hold;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Lease(SlotHold hold) {
+            this.hold = hold;
+        }
+    }
+
+    /**
+     * Holds the slot for the user. Holding a slot the user already holds returns the existing
+     * hold unchanged; a slot held by someone else is rejected.
+     */
+    public SlotHold acquire(Long slotId, Long doctorId, Long userId) {
+        Lease lease = new Lease(new SlotHold(UUID.randomUUID().toString(), slotId, doctorId, userId,
+                Instant.now().plusMillis(holdMillis)));
+
+        Lease existing = leasesBySlot.putIfAbsent(slotId, lease);
+        if (existing != null) {
+            if (existing.hold.userId().equals(userId)) {
+                return existing.hold;
+            }
+            throw new IllegalStateException("This slot is on hold by another patient");
+        }
+
+        leasesById.put(lease.hold.id(), lease);
+        lease.timeout = wheel.schedule(() -> remove(lease), holdMillis, TimeUnit.MILLISECONDS);
+        return lease.hold;
+    }
+
+    /**
+     * The hold with this id, unless it was released or has expired.
+     */
+    public Optional<SlotHold> find(String holdId) {
+        Lease lease = holdId == null ? null : leasesById.get(holdId);
+        if (lease == null || lease.hold.expiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(lease.hold);
+    }
+
+    public boolean isHeldByOther(Long slotId, Long userId) {
+        Lease lease = slotId == null ? null : leasesBySlot.get(slotId);
+        return lease != null
+                && !lease.hold.userId().equals(userId)
+                && !lease.hold.expiresAt().isBefore(Instant.now());
+    }
+
+    /**
+     * Drops the user's hold on the slot, if they have one.
+     */
+    public void release(Long slotId, Long userId) {
+        Lease lease = slotId == null ? null : leasesBySlot.get(slotId);
+        if (lease != null && lease.hold.userId().equals(userId)) {
+            HashedTimerWheel.Timeout timeout = lease.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            remove(lease);
+        }
+    }
+
+    public int size() {
+        return leasesBySlot.size();
+    }
+
+    private void remove(Lease lease) {
+        leasesBySlot.remove(lease.hold.slotId(), lease);
+        leasesById.remove(lease.hold.id(), lease);
+    }
+
+    @PreDestroy
+    void stop() {
+        wheel.stop();
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.healthcare_appointment_system.service;
+
+/**
+ * A booking rejected because its slot is taken, held, past or otherwise not bookable. Always thrown
+ * before the booking wrote anything, so it does not roll back the surrounding transaction and a
+ * booking lane can reject the one command without failing the rest of its batch.
+ */
+public class SlotUnavailableException extends IllegalStateException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
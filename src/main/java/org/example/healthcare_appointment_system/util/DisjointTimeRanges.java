@@ -0,0 +1,39 @@
+package org.example.healthcare_appointment_system.util;
+
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Non-overlapping half-open time ranges {@code [start, end)} ordered by start time.
+ * Because stored ranges never overlap, a new range can only collide with its floor
+ * or its successor, so overlap checks and inserts are O(log n).
+ */
+public class DisjointTimeRanges {
+    private final TreeMap<LocalTime, LocalTime> ranges = new TreeMap<>();
+
+    /**
+     * Returns a stored range overlapping {@code [start, end)}, or null if there is none.
+     */
+    public Map.Entry<LocalTime, LocalTime> findOverlap(LocalTime start, LocalTime end) {
+        Map.Entry<LocalTime, LocalTime> before = ranges.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) {
+            return before;
+        }
+        Map.Entry<LocalTime, LocalTime> after = ranges.higherEntry(start);
+        if (after != null && after.getKey().isBefore(end)) {
+            return after;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a range that the caller has checked with {@link #findOverlap}.
+     */
+    public void add(LocalTime start, LocalTime end) {
+        if (findOverlap(start, end) != null) {
+            throw new IllegalArgumentException("Range " + start + " - " + end + " overlaps a stored range");
+        }
+        ranges.put(start, end);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.healthcare_appointment_system.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare_appointment_system.entity.Appointment;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Slot, appointment and schedule template ids used to come from identity columns. Databases created back then
+ * have rows above the freshly created id sequences, so move each sequence past them once on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner implements CommandLineRunner {
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void run(String... args) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        align(dialect, "availability_slots", "availability_slots_seq", AvailabilitySlot.ID_ALLOCATION_SIZE);
+        align(dialect, "appointments", "appointments_seq", Appointment.ID_ALLOCATION_SIZE);
+        align(dialect, "schedule_templates", "schedule_templates_seq", ScheduleTemplate.ID_ALLOCATION_SIZE);
+    }
+
+    private void align(Dialect dialect, String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        // The pooled optimizer hands out the block just below the value it reads
+        if (next != null && next - allocationSize < maxId) {
+            long restart = maxId + allocationSize + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+            log.info("Id sequence {} moved past existing rows, restarting at {}", sequence, restart);
+        }
+    }
+}
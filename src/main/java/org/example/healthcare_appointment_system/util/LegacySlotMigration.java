@@ -0,0 +1,82 @@
+package org.example.healthcare_appointment_system.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Slots used to be weekly rows (a week day plus times, unique per doctor and day).
+ * ddl-auto adds the new columns but leaves the old unique key and the undated rows behind,
+ * so on startup: drop that key, turn every undated slot into a schedule template, and date
+ * the slot for the next occurrence of its day, which is what booking used to assume.
+ * Slots without a copy of their doctor's specialty get one as well.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacySlotMigration implements CommandLineRunner {
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        List<String> weeklyKeys = jdbcTemplate.queryForList(
+                "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+                        "JOIN information_schema.key_column_usage kcu " +
+                        "ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name " +
+                        "WHERE LOWER(tc.table_name) = 'availability_slots' AND tc.constraint_type = 'UNIQUE' " +
+                        "AND LOWER(kcu.column_name) = 'day_of_week'", String.class);
+        for (String key : weeklyKeys) {
+            jdbcTemplate.execute("ALTER TABLE availability_slots DROP CONSTRAINT " + key);
+        }
+
+        // Slots created before the specialty was copied onto them
+        jdbcTemplate.update("UPDATE availability_slots SET doctor_specialty = (" +
+                "SELECT LOWER(d.specialty) FROM doctors d WHERE d.id = availability_slots.doctor_id) " +
+                "WHERE doctor_specialty IS NULL AND doctor_id IN (SELECT d.id FROM doctors d WHERE d.specialty IS NOT NULL)");
+
+        Integer undated = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM availability_slots WHERE slot_date IS NULL", Integer.class);
+        if (undated == null || undated == 0) {
+            return;
+        }
+
+        // Template ids come from a sequence, not an identity column, so each row draws its own
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        String nextTemplateId = dialect.getSequenceSupport().getSelectSequenceNextValString("schedule_templates_seq");
+        jdbcTemplate.update("INSERT INTO schedule_templates (id, doctor_id, day_of_week, start_time, end_time) " +
+                "SELECT " + nextTemplateId + ", w.doctor_id, w.day_of_week, w.start_time, w.end_time FROM (" +
+                "SELECT DISTINCT s.doctor_id, s.day_of_week, s.start_time, s.end_time FROM availability_slots s " +
+                "WHERE s.slot_date IS NULL AND NOT EXISTS (SELECT 1 FROM schedule_templates t " +
+                "WHERE t.doctor_id = s.doctor_id AND t.day_of_week = s.day_of_week " +
+                "AND t.start_time = s.start_time AND t.end_time = s.end_time)) w");
+
+        LocalDate today = LocalDate.now();
+        for (WeekDay day : WeekDay.values()) {
+            Date date = Date.valueOf(today.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(day.name()))));
+            jdbcTemplate.update("UPDATE availability_slots SET slot_date = ?, template_id = (" +
+                    "SELECT t.id FROM schedule_templates t WHERE t.doctor_id = availability_slots.doctor_id " +
+                    "AND t.day_of_week = availability_slots.day_of_week " +
+                    "AND t.start_time = availability_slots.start_time AND t.end_time = availability_slots.end_time) " +
+                    "WHERE slot_date IS NULL AND day_of_week = ?", date, day.name());
+            // The expansion job continues from the week after
+            jdbcTemplate.update("UPDATE schedule_templates SET materialized_through = ? " +
+                    "WHERE materialized_through IS NULL AND day_of_week = ?", date, day.name());
+        }
+        log.info("Converted {} weekly slots into schedule templates", undated);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.healthcare_appointment_system.perf;
+
+import org.example.healthcare_appointment_system.document.MedicalRecord;
+import org.example.healthcare_appointment_system.document.Prescription;
+import org.example.healthcare_appointment_system.repo.MedicalRecordRepository;
+import org.example.healthcare_appointment_system.repo.PrescriptionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Stand-in for the Mongo collections so benchmarks and load tests run without a Mongo server.
+ * The repositories answer what the application uses (findByPatientId, save, saveAll, deleteAll);
+ * anything else fails loudly so a run cannot silently measure a no-op.
+ */
+public class InMemoryDocumentStore {
+    private final Map<Long, List<Prescription>> prescriptions = new ConcurrentHashMap<>();
+    private final Map<Long, List<MedicalRecord>> medicalRecords = new ConcurrentHashMap<>();
+
+    public void add(Prescription prescription) {
+        prescriptionRepository().save(prescription);
+    }
+
+    public void add(MedicalRecord medicalRecord) {
+        medicalRecordRepository().save(medicalRecord);
+    }
+
+    public PrescriptionRepository prescriptionRepository() {
+        return repository(PrescriptionRepository.class, prescriptions, Prescription::getPatientId,
+                (prescription, id) -> {
+                    if (prescription.getId() == null) {
+                        prescription.setId(id);
+                    }
+                });
+    }
+
+    public MedicalRecordRepository medicalRecordRepository() {
+        return repository(MedicalRecordRepository.class, medicalRecords, MedicalRecord::getPatientId,
+                (record, id) -> {
+                    if (record.getId() == null) {
+                        record.setId(id);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, D> R repository(Class<R> type, Map<Long, List<D>> documents, Function<D, Long> patientId,
+                                       BiConsumer<D, String> assignId) {
+        Function<D, D> save = document -> {
+            assignId.accept(document, UUID.randomUUID().toString());
+            List<D> patientDocuments = documents.computeIfAbsent(patientId.apply(document),
+                    id -> new ArrayList<>());
+            synchronized (patientDocuments) {
+                patientDocuments.add(document);
+            }
+            return document;
+        };
+
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findByPatientId" -> {
+                        List<D> patientDocuments = documents.getOrDefault((Long) args[0], List.of());
+                        synchronized (patientDocuments) {
+                            yield List.copyOf(patientDocuments);
+                        }
+                    }
+                    case "save" -> save.apply((D) args[0]);
+                    case "saveAll" -> {
+                        List<D> saved = new ArrayList<>();
+                        for (Object document : (Iterable<?>) args[0]) {
+                            saved.add(save.apply((D) document));
+                        }
+                        yield saved;
+                    }
+                    case "deleteAll" -> {
+                        if (args != null && args.length > 0) {
+                            throw new UnsupportedOperationException(type.getSimpleName() + ".deleteAll(entities)");
+                        }
+                        documents.clear();
+                        yield null;
+                    }
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            type.getSimpleName() + "." + method.getName() + " is not supported offline");
+                });
+    }
+}
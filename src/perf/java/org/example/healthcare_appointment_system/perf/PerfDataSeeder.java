@@ -0,0 +1,126 @@
+package org.example.healthcare_appointment_system.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads synthetic users, doctors, patients and dated slots with plain JDBC
+ * batches, so seeding a million rows does not go through the persistence context.
+ */
+public class PerfDataSeeder {
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] DAYS = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"};
+    private static final String[] SPECIALTIES = {"Cardiology", "Neurology", "Dermatology", "Pediatrics", "Orthopedics"};
+
+    private final JdbcTemplate jdbc;
+    private long nextUserId = 1;
+
+    public PerfDataSeeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Creates doctors {@code 1..count} (doctor id == index) and returns the user id of the first one.
+     */
+    public long seedDoctors(int count) {
+        long firstUserId = nextUserId;
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> doctors = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            long userId = nextUserId++;
+            users.add(user(userId, "doctor" + i, "DOCTOR"));
+            doctors.add(new Object[]{(long) i, SPECIALTIES[i % SPECIALTIES.length], userId});
+            if (doctors.size() == BATCH_SIZE || i == count) {
+                insertUsers(users);
+                jdbc.batchUpdate("INSERT INTO doctors (id, specialty, user_id) VALUES (?, ?, ?)", doctors);
+                users.clear();
+                doctors.clear();
+            }
+        }
+        return firstUserId;
+    }
+
+    /**
+     * Creates patients {@code 1..count} and returns the user id of the first one.
+     */
+    public long seedPatients(int count) {
+        long firstUserId = nextUserId;
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> patients = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            long userId = nextUserId++;
+            users.add(user(userId, "patient" + i, "PATIENT"));
+            patients.add(new Object[]{(long) i, userId, i % 2 == 0 ? "MALE" : "FEMALE",
+                    Date.valueOf(LocalDate.of(1960 + i % 50, 1 + i % 12, 1 + i % 28))});
+            if (patients.size() == BATCH_SIZE || i == count) {
+                insertUsers(users);
+                jdbc.batchUpdate("INSERT INTO patients (id, user_id, gender, date_of_birth) VALUES (?, ?, ?, ?)", patients);
+                users.clear();
+                patients.clear();
+            }
+        }
+        return firstUserId;
+    }
+
+    /**
+     * Spreads {@code count} dated 15-minute slots round-robin over doctors {@code 1..doctors},
+     * starting with the coming week.
+     */
+    public void seedSlots(int count, int doctors) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            long doctorId = 1 + (i % doctors);
+            int perDoctor = i / doctors;
+            String day = DAYS[perDoctor % DAYS.length];
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(15L * ((perDoctor / DAYS.length) % 40));
+            LocalDate date = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(day)))
+                    .plusWeeks(perDoctor / (DAYS.length * 40));
+            rows.add(new Object[]{(long) i + 1, Date.valueOf(date), day, Time.valueOf(start),
+                    Time.valueOf(start.plusMinutes(15)), i % 3 == 0, 0L, doctorId});
+            if (rows.size() == BATCH_SIZE || i == count - 1) {
+                jdbc.batchUpdate("INSERT INTO availability_slots " +
+                        "(id, slot_date, day_of_week, start_time, end_time, reserved, version, doctor_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Books slots {@code 1..count} (as laid out by seedSlots) for one patient, with ids {@code 1..count}.
+     */
+    public void seedAppointments(long patientId, int count, int doctors) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            long doctorId = 1 + (i % doctors);
+            rows.add(new Object[]{(long) i + 1, doctorId, patientId, (long) i + 1,
+                    Timestamp.valueOf(LocalDateTime.of(2025, 1, 6, 9, 0).plusDays(i)), "COMPLETED"});
+            if (rows.size() == BATCH_SIZE || i == count - 1) {
+                jdbc.batchUpdate("INSERT INTO appointments " +
+                        "(id, doctor_id, patient_id, slot_id, appointment_time, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private void insertUsers(List<Object[]> users) {
+        jdbc.batchUpdate("INSERT INTO users (id, username, password, email, phone, enabled, role) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+    }
+
+    private Object[] user(long id, String username, String role) {
+        return new Object[]{id, username, "{noop}password", username + "@example.com",
+                String.format("%010d", id), true, role};
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.healthcare_appointment_system.perf;
+
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Minimal JPA-only context on an in-memory H2 database for benchmarks.
+ * Services under test are passed in explicitly so nothing touches Postgres or Mongo.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class
+})
+@EntityScan(basePackageClasses = Doctor.class)
+@EnableJpaRepositories(basePackageClasses = DoctorRepository.class)
+public class PerfJpaConfiguration {
+
+    public static ConfigurableApplicationContext start(Class<?>... components) {
+        return new SpringApplicationBuilder(PerfJpaConfiguration.class)
+                .sources(components)
+                .web(WebApplicationType.NONE)
+                .run(h2Arguments());
+    }
+
+    /**
+     * Passed as command line arguments rather than default properties, so they win over
+     * the Postgres settings in application.yml.
+     */
+    public static String[] h2Arguments() {
+        return new String[]{
+                "--spring.datasource.url=jdbc:h2:mem:perf;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.cache=WARN",
+                "--logging.level.org.hibernate.stat=WARN"
+        };
+    }
+}
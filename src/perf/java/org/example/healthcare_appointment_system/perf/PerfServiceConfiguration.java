@@ -0,0 +1,56 @@
+package org.example.healthcare_appointment_system.perf;
+
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.config.AsyncConfig;
+import org.example.healthcare_appointment_system.repo.MedicalRecordRepository;
+import org.example.healthcare_appointment_system.repo.PrescriptionRepository;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
+import org.example.healthcare_appointment_system.service.ScheduleExpander;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndexListener;
+import org.example.healthcare_appointment_system.service.SlotHoldRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Everything the real services need besides JPA: their collaborators from the main
+ * context, and stand-ins for Mongo, the password encoder and the Spring cache manager.
+ * Caching is not enabled, so @Cacheable methods always run their query.
+ */
+@Configuration
+@Import({AsyncConfig.class, CacheService.class, SlotAvailabilityIndex.class,
+        SlotAvailabilityIndexListener.class, SlotHoldRegistry.class, UserRevocationRegistry.class,
+        ScheduleExpander.class})
+public class PerfServiceConfiguration {
+
+    @Bean
+    public InMemoryDocumentStore documentStore() {
+        return new InMemoryDocumentStore();
+    }
+
+    @Bean
+    public PrescriptionRepository prescriptionRepository(InMemoryDocumentStore documentStore) {
+        return documentStore.prescriptionRepository();
+    }
+
+    @Bean
+    public MedicalRecordRepository medicalRecordRepository(InMemoryDocumentStore documentStore) {
+        return documentStore.medicalRecordRepository();
+    }
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new ConcurrentMapCacheManager();
+    }
+
+    @Bean
+    @SuppressWarnings("deprecation")
+    public PasswordEncoder passwordEncoder() {
+        return NoOpPasswordEncoder.getInstance();
+    }
+}
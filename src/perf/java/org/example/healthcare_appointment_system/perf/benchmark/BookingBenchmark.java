@@ -0,0 +1,86 @@
+package org.example.healthcare_appointment_system.perf.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.dto.AppointmentResponseDto;
+import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.perf.PerfDataSeeder;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.perf.PerfServiceConfiguration;
+import org.example.healthcare_appointment_system.security.CustomUserDetails;
+import org.example.healthcare_appointment_system.service.AppointmentService;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncontended bookAppointment on H2: index check, compare-and-set on the slot, appointment
+ * insert and commit. Every call books a fresh slot; the pool is freed again before each
+ * iteration, outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+    private static final int DOCTORS = 100;
+    private static final int SLOTS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private SlotAvailabilityIndex slotIndex;
+    private JdbcTemplate jdbc;
+    private UsernamePasswordAuthenticationToken patientAuthentication;
+    private List<BookAppointmentDto> bookings;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfJpaConfiguration.start(PerfServiceConfiguration.class, AppointmentService.class);
+        appointmentService = context.getBean(AppointmentService.class);
+        slotIndex = context.getBean(SlotAvailabilityIndex.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        PerfDataSeeder seeder = new PerfDataSeeder(jdbc);
+        seeder.seedDoctors(DOCTORS);
+        long patientUserId = seeder.seedPatients(1);
+        seeder.seedSlots(SLOTS, DOCTORS);
+
+        bookings = jdbc.query("SELECT id, doctor_id FROM availability_slots ORDER BY id",
+                (rs, row) -> new BookAppointmentDto(rs.getLong("doctor_id"), rs.getLong("id")));
+
+        CustomUserDetails patient = new CustomUserDetails(patientUserId, "patient1", "",
+                true, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+        patientAuthentication = new UsernamePasswordAuthenticationToken(patient, null, patient.getAuthorities());
+    }
+
+    @Setup(Level.Iteration)
+    public void freeAllSlots() {
+        jdbc.update("DELETE FROM appointments");
+        jdbc.update("UPDATE availability_slots SET reserved = FALSE, version = version + 1");
+        // The JDBC reset bypasses Hibernate, so drop its cached slots and the resident index
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        bookings.forEach(booking -> slotIndex.remove(booking.slotId()));
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AppointmentResponseDto bookAppointment() {
+        // Set per call: JMH does not promise setup and measurement share a thread
+        SecurityContextHolder.getContext().setAuthentication(patientAuthentication);
+        return appointmentService.bookAppointment(bookings.get(next++));
+    }
+}
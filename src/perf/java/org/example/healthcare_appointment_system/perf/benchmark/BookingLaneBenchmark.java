@@ -0,0 +1,116 @@
+package org.example.healthcare_appointment_system.perf.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.dto.AppointmentResponseDto;
+import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.perf.PerfDataSeeder;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.perf.PerfServiceConfiguration;
+import org.example.healthcare_appointment_system.security.CustomUserDetails;
+import org.example.healthcare_appointment_system.service.AppointmentService;
+import org.example.healthcare_appointment_system.service.BookingDispatcher;
+import org.example.healthcare_appointment_system.service.BookingLanes;
+import org.example.healthcare_appointment_system.service.PatientService;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking throughput with 1000 concurrent clients spread over 10 hot doctors, with writes
+ * going straight to the database ({@code lanes=false}) or through the per-doctor booking
+ * lanes ({@code lanes=true}). {@code bookAppointment} books a fresh slot on every call;
+ * {@code bookContendedSlot} has {@value #RACERS} clients race for each slot, so all but one
+ * of them are rejected. The pool is freed again before each iteration, outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1000)
+@Fork(1)
+public class BookingLaneBenchmark {
+    private static final int DOCTORS = 10;
+    private static final int SLOTS = 200_000;
+    private static final int RACERS = 20;
+    private static final String LANES_PROPERTY = "app.booking.lanes.enabled";
+
+    @Param({"false", "true"})
+    public boolean lanes;
+
+    private ConfigurableApplicationContext context;
+    private BookingDispatcher bookingDispatcher;
+    private SlotAvailabilityIndex slotIndex;
+    private JdbcTemplate jdbc;
+    private UsernamePasswordAuthenticationToken patientAuthentication;
+    private List<BookAppointmentDto> bookings;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // System properties rank above application.yml, below the H2 command line arguments
+        System.setProperty(LANES_PROPERTY, Boolean.toString(lanes));
+        context = PerfJpaConfiguration.start(PerfServiceConfiguration.class, AppointmentService.class,
+                PatientService.class, BookingLanes.class, BookingDispatcher.class);
+        bookingDispatcher = context.getBean(BookingDispatcher.class);
+        slotIndex = context.getBean(SlotAvailabilityIndex.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        PerfDataSeeder seeder = new PerfDataSeeder(jdbc);
+        seeder.seedDoctors(DOCTORS);
+        long patientUserId = seeder.seedPatients(1);
+        seeder.seedSlots(SLOTS, DOCTORS);
+
+        bookings = jdbc.query("SELECT id, doctor_id FROM availability_slots ORDER BY id",
+                (rs, row) -> new BookAppointmentDto(rs.getLong("doctor_id"), rs.getLong("id")));
+
+        CustomUserDetails patient = new CustomUserDetails(patientUserId, "patient1", "",
+                true, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+        patientAuthentication = new UsernamePasswordAuthenticationToken(patient, null, patient.getAuthorities());
+    }
+
+    @Setup(Level.Iteration)
+    public void freeAllSlots() {
+        jdbc.update("DELETE FROM appointments");
+        jdbc.update("UPDATE availability_slots SET reserved = FALSE, version = version + 1");
+        // The JDBC reset bypasses Hibernate, so drop its cached slots and the resident index
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        bookings.forEach(booking -> slotIndex.remove(booking.slotId()));
+        next.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.clearProperty(LANES_PROPERTY);
+    }
+
+    @Benchmark
+    public AppointmentResponseDto bookAppointment() {
+        SecurityContextHolder.getContext().setAuthentication(patientAuthentication);
+        return bookingDispatcher.bookAppointment(bookings.get(next.getAndIncrement()));
+    }
+
+    /**
+     * Consecutive calls share a slot, so concurrent clients collide on the same rows and
+     * every batch a lane drains is likely to hold losers next to the one winner.
+     */
+    @Benchmark
+    public AppointmentResponseDto bookContendedSlot() {
+        SecurityContextHolder.getContext().setAuthentication(patientAuthentication);
+        try {
+            return bookingDispatcher.bookAppointment(bookings.get(next.getAndIncrement() / RACERS));
+        } catch (IllegalStateException e) {
+            // Lost the race: already booked
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.healthcare_appointment_system.perf.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import org.example.healthcare_appointment_system.security.JwtService;
+import org.example.healthcare_appointment_system.security.VerifiedToken;
+import org.example.healthcare_appointment_system.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost per request in JwtAuthFilter:
+ * the old path (isValid + extractUsername, fresh parser each time) against a single
+ * parse with a shared parser, and against a verified-token cache hit.
+ * Token issuing (login and refresh) is measured alongside.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "mysupersecretkeymysupersecretkey";
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedService = new JwtService(SECRET, 1_800_000, 1_209_600_000, new VerifiedTokenCache(10_000));
+        // A zero-sized cache never stores anything, so every call parses and verifies
+        uncachedService = new JwtService(SECRET, 1_800_000, 1_209_600_000, new VerifiedTokenCache(0));
+        token = cachedService.generateAccessToken(1L, "patient1", List.of("PATIENT"));
+        cachedService.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public String previousFilterDoubleParse() {
+        // What the filter did before: build a parser and verify in isValid, then again in extractUsername
+        Jwts.parser().setSigningKey(cachedService.getKey()).build().parseClaimsJws(token);
+        return Jwts.parser().setSigningKey(cachedService.getKey()).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> singleParseSharedParser() {
+        return uncachedService.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifiedTokenCacheHit() {
+        return cachedService.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cachedService.generateAccessToken(1L, "patient1", List.of("PATIENT"), "family-1");
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.healthcare_appointment_system.perf.benchmark;
+
+import org.example.healthcare_appointment_system.document.MedicalRecord;
+import org.example.healthcare_appointment_system.document.Prescription;
+import org.example.healthcare_appointment_system.dto.CursorPageDto;
+import org.example.healthcare_appointment_system.dto.DoctorResponseDto;
+import org.example.healthcare_appointment_system.dto.PatientMedicalHistoryDto;
+import org.example.healthcare_appointment_system.dto.PatientResponseDto;
+import org.example.healthcare_appointment_system.perf.InMemoryDocumentStore;
+import org.example.healthcare_appointment_system.perf.PerfDataSeeder;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.perf.PerfServiceConfiguration;
+import org.example.healthcare_appointment_system.security.CustomUserDetails;
+import org.example.healthcare_appointment_system.service.DoctorService;
+import org.example.healthcare_appointment_system.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read hot paths through the real services on H2: specialty search, patient history
+ * (Mongo side served by {@link InMemoryDocumentStore}) and listing pages with their
+ * DTO mapping. Hibernate's query cache is on as in production; Spring's result cache is not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceReadBenchmark {
+    private static final int DOCTORS = 500;
+    private static final int PATIENTS = 1_000;
+    private static final int SLOTS = 10_000;
+    private static final int HISTORY_ENTRIES = 20;
+
+    private ConfigurableApplicationContext context;
+    private DoctorService doctorService;
+    private PatientService patientService;
+    private UsernamePasswordAuthenticationToken patientAuthentication;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfJpaConfiguration.start(PerfServiceConfiguration.class, DoctorService.class, PatientService.class);
+        doctorService = context.getBean(DoctorService.class);
+        patientService = context.getBean(PatientService.class);
+
+        PerfDataSeeder seeder = new PerfDataSeeder(context.getBean(JdbcTemplate.class));
+        seeder.seedDoctors(DOCTORS);
+        long firstPatientUserId = seeder.seedPatients(PATIENTS);
+        seeder.seedSlots(SLOTS, DOCTORS);
+        seeder.seedAppointments(1L, HISTORY_ENTRIES, DOCTORS);
+
+        InMemoryDocumentStore documents = context.getBean(InMemoryDocumentStore.class);
+        for (long appointmentId = 1; appointmentId <= HISTORY_ENTRIES; appointmentId++) {
+            Prescription prescription = new Prescription();
+            prescription.setPatientId(1L);
+            prescription.setDoctorId(1 + (appointmentId - 1) % DOCTORS);
+            prescription.setAppointmentId(appointmentId);
+            prescription.setNotes("Take with food");
+            prescription.setMedicines(List.of("Ibuprofen 400mg", "Omeprazole 20mg"));
+            documents.add(prescription);
+
+            MedicalRecord record = new MedicalRecord();
+            record.setPatientId(1L);
+            record.setDoctorId(prescription.getDoctorId());
+            record.setNotes("Routine check-up");
+            documents.add(record);
+        }
+
+        CustomUserDetails patient = new CustomUserDetails(firstPatientUserId, "patient1", "",
+                true, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+        patientAuthentication = new UsernamePasswordAuthenticationToken(patient, null, patient.getAuthorities());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DoctorResponseDto> searchBySpecialty() {
+        return doctorService.searchBySpecialty("Cardiology");
+    }
+
+    @Benchmark
+    public PatientMedicalHistoryDto getPatientHistory() {
+        // Set per call: JMH does not promise setup and measurement share a thread
+        SecurityContextHolder.getContext().setAuthentication(patientAuthentication);
+        return patientService.getPatientHistory();
+    }
+
+    @Benchmark
+    public CursorPageDto<DoctorResponseDto> doctorsPageWithDtoMapping() {
+        return doctorService.getDoctorsPage(null, CursorPageDto.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageDto<PatientResponseDto> patientsPageWithDtoMapping() {
+        return patientService.getPatientsPage(null, CursorPageDto.DEFAULT_SIZE);
+    }
+}
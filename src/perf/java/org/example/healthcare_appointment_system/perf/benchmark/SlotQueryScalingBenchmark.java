@@ -0,0 +1,80 @@
+package org.example.healthcare_appointment_system.perf.benchmark;
+
+import org.example.healthcare_appointment_system.entity.Patient;
+import org.example.healthcare_appointment_system.perf.PerfDataSeeder;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.FreeSlotView;
+import org.example.healthcare_appointment_system.repo.PatientRepository;
+import org.example.healthcare_appointment_system.repo.SlotView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression guard for the indexed lookups behind getMyAvailableSlots, next-available search
+ * and getPatientHistory: latency should stay flat while the tables grow 1k -> 1M rows
+ * (50 -> 50k doctors).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotQueryScalingBenchmark {
+    private static final int SLOTS_PER_DOCTOR = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilitySlotRepository slotRepository;
+    private PatientRepository patientRepository;
+    private long doctorUserId;
+    private long patientUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = PerfJpaConfiguration.start();
+        slotRepository = context.getBean(AvailabilitySlotRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+
+        PerfDataSeeder seeder = new PerfDataSeeder(context.getBean(JdbcTemplate.class));
+        int doctors = Math.max(1, rows / SLOTS_PER_DOCTOR);
+        long firstDoctorUserId = seeder.seedDoctors(doctors);
+        long firstPatientUserId = seeder.seedPatients(rows);
+        seeder.seedSlots(rows, doctors);
+
+        // Probe rows in the middle of the tables
+        doctorUserId = firstDoctorUserId + doctors / 2;
+        patientUserId = firstPatientUserId + rows / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SlotView> unreservedSlotsByDoctorUserId() {
+        return slotRepository.findUnreservedByDoctorUserId(doctorUserId, LocalDate.now());
+    }
+
+    @Benchmark
+    public List<FreeSlotView> nextAvailableBySpecialty() {
+        return slotRepository.findNextAvailable("cardiology", LocalDate.now(), LocalTime.of(12, 0), Limit.of(10));
+    }
+
+    @Benchmark
+    public Optional<Patient> patientByUserId() {
+        return patientRepository.findByUserId(patientUserId);
+    }
+}
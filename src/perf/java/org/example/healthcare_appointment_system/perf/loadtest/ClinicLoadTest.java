@@ -0,0 +1,389 @@
+package org.example.healthcare_appointment_system.perf.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * End-to-end load test against a running instance, through the public HTTP API only.
+ * <ol>
+ *     <li>Seeds a synthetic clinic as the default admin: doctors and patients through the
+ *     create endpoints, weekly slots per doctor through add-slots, which returns
+ *     their dated occurrences up to the schedule horizon.</li>
+ *     <li>Drives {@code loadtest.users} concurrent virtual users through a weighted mix of
+ *     login, doctor search, booking, cancelling, completing, prescribing and history reads.
+ *     Users only book slots they believe free, so failures are real errors, not contention.</li>
+ *     <li>Prints throughput, p50/p99/p99.9 latency and error rate per endpoint for the
+ *     measured window (after warmup).</li>
+ * </ol>
+ * Without {@code loadtest.base-url} an {@link OfflineClinicApplication} (H2, in-memory Mongo
+ * stand-in) is started in-process, so the run needs no database servers.
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec@clinic-loadtest -Dloadtest.doctors=50 -Dloadtest.patients=500
+ * </pre>
+ */
+public class ClinicLoadTest {
+    private static final String ADMIN_USERNAME = "ayman"; // created by DataInitializer
+    private static final String ADMIN_PASSWORD = "123456";
+    private static final String PASSWORD = "loadtest1";
+    private static final String[] SPECIALTIES = {"Cardiology", "Neurology", "Dermatology", "Pediatrics", "Orthopedics"};
+    private static final int SEED_CONCURRENCY = 32;
+
+    enum Operation {
+        LOGIN("POST /api/auth/login", 5),
+        SEARCH_DOCTOR("GET /api/patient/search-doctor", 30),
+        BOOK("POST /api/patient/book-appointment", 20),
+        CANCEL("PUT /api/patient/cancel-appointment/{id}", 5),
+        COMPLETE("PUT /api/doctor/appointments/{id}/complete", 10),
+        WRITE_PRESCRIPTION("POST /api/doctor/write-prescription/{patientId}", 10),
+        MEDICAL_HISTORY("GET /api/patient/medical-history", 20);
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private enum Outcome {OK, FAILED, SKIPPED}
+
+    private record Account(long id, String username, String token) {
+    }
+
+    private record Slot(long slotId, int doctor) {
+    }
+
+    private record Booking(long appointmentId, Slot slot, int patient) {
+    }
+
+    private record Response(int status, byte[] body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final String runId = String.format("%05d", (System.currentTimeMillis() / 1000) % 100_000);
+    private final Operation[] operationWheel;
+
+    // Filled by index during seeding; future.get() publishes the writes to the virtual users
+    private Account[] doctors;
+    private Account[] patients;
+    private final Queue<Slot> freeSlots = new ConcurrentLinkedQueue<>();
+    private final Queue<Booking> booked = new ConcurrentLinkedQueue<>();
+    private final Queue<Booking> completed = new ConcurrentLinkedQueue<>();
+
+    ClinicLoadTest(String baseUrl, HttpClient http) {
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.operationWheel = Arrays.stream(Operation.values())
+                .flatMap(operation -> Collections.nCopies(operation.weight, operation).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url");
+        int doctorCount = Integer.getInteger("loadtest.doctors", 50);
+        int patientCount = Integer.getInteger("loadtest.patients", 500);
+        int slotsPerDay = Integer.getInteger("loadtest.slots-per-day", 8);
+        int users = Integer.getInteger("loadtest.users", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null || baseUrl.isBlank()) {
+            context = OfflineClinicApplication.start();
+            baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+            ClinicLoadTest loadTest = new ClinicLoadTest(baseUrl, http);
+
+            long seedStart = System.nanoTime();
+            loadTest.seed(doctorCount, patientCount, slotsPerDay, executor);
+            System.out.printf("Seeded %d doctors, %d patients, %d slots in %d s%n", doctorCount, patientCount,
+                    loadTest.freeSlots.size(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+            Map<Operation, LatencySamples> results = loadTest.drive(users, warmupSeconds, durationSeconds, executor);
+            report(results, users, durationSeconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void seed(int doctorCount, int patientCount, int slotsPerDay, ExecutorService executor) throws Exception {
+        String adminToken = login(ADMIN_USERNAME, ADMIN_PASSWORD);
+        doctors = new Account[doctorCount];
+        patients = new Account[patientCount];
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < doctorCount; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> withPermit(permits, () -> seedDoctor(adminToken, index, slotsPerDay))));
+        }
+        for (int i = 0; i < patientCount; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> withPermit(permits, () -> seedPatient(adminToken, index))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // Spread bookings over all doctors instead of filling them one by one
+        List<Slot> slots = new ArrayList<>(freeSlots);
+        Collections.shuffle(slots);
+        freeSlots.clear();
+        freeSlots.addAll(slots);
+    }
+
+    private Void seedDoctor(String adminToken, int index, int slotsPerDay) throws Exception {
+        String username = "lt" + runId + "doc" + index;
+        Map<String, Object> doctor = new LinkedHashMap<>();
+        doctor.put("username", username);
+        doctor.put("password", PASSWORD);
+        doctor.put("phone", runId + String.format("%05d", index));
+        doctor.put("email", username + "@loadtest.example.com");
+        doctor.put("specialty", SPECIALTIES[index % SPECIALTIES.length]);
+        long doctorId = expect(send("POST", "/api/admin/create-doctor", adminToken, doctor), "create doctor")
+                .get("id").asLong();
+
+        List<Map<String, String>> ranges = new ArrayList<>();
+        LocalTime start = LocalTime.of(9, 0);
+        for (int i = 0; i < slotsPerDay; i++) {
+            ranges.add(Map.of("startTime", start.toString(), "endTime", start.plusMinutes(30).toString()));
+            start = start.plusMinutes(30);
+        }
+
+        doctors[index] = new Account(doctorId, username, login(username, PASSWORD));
+        for (WeekDay day : WeekDay.values()) {
+            JsonNode created = expect(send("POST", "/api/admin/doctor/" + doctorId + "/add-slots", adminToken,
+                    Map.of("dayOfWeek", day.name(), "slots", ranges)), "add slots");
+            for (JsonNode slot : created) {
+                freeSlots.add(new Slot(slot.get("id").asLong(), index));
+            }
+        }
+        return null;
+    }
+
+    private Void seedPatient(String adminToken, int index) throws Exception {
+        String username = "lt" + runId + "pat" + index;
+        Map<String, Object> patient = new LinkedHashMap<>();
+        patient.put("username", username);
+        patient.put("password", PASSWORD);
+        patient.put("phone", runId + String.format("%05d", 50_000 + index));
+        patient.put("email", username + "@loadtest.example.com");
+        patient.put("gender", index % 2 == 0 ? "FEMALE" : "MALE");
+        patient.put("dateOfBirth", String.format("%02d-%02d-%d", 1 + index % 28, 1 + index % 12, 1950 + index % 60));
+        long patientId = expect(send("POST", "/api/admin/create-patient", adminToken, patient), "create patient")
+                .get("id").asLong();
+
+        patients[index] = new Account(patientId, username, login(username, PASSWORD));
+        return null;
+    }
+
+    Map<Operation, LatencySamples> drive(int users, int warmupSeconds, int durationSeconds,
+                                         ExecutorService executor) throws Exception {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Future<Map<Operation, LatencySamples>>> futures = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            futures.add(executor.submit(() -> virtualUser(measureFrom, deadline)));
+        }
+
+        Map<Operation, LatencySamples> total = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencySamples>> future : futures) {
+            future.get().forEach((operation, samples) ->
+                    total.computeIfAbsent(operation, op -> new LatencySamples()).addAll(samples));
+        }
+        return total;
+    }
+
+    private Map<Operation, LatencySamples> virtualUser(long measureFrom, long deadline) {
+        Map<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = operationWheel[random.nextInt(operationWheel.length)];
+            long start = System.nanoTime();
+            Outcome outcome;
+            try {
+                outcome = execute(operation, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                outcome = Outcome.FAILED;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (outcome == Outcome.SKIPPED || start < measureFrom) {
+                continue;
+            }
+            LatencySamples operationSamples = samples.computeIfAbsent(operation, op -> new LatencySamples());
+            if (outcome == Outcome.OK) {
+                operationSamples.add(elapsed);
+            } else {
+                operationSamples.addError();
+            }
+        }
+        return samples;
+    }
+
+    private Outcome execute(Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        int patient = random.nextInt(patients.length);
+        switch (operation) {
+            case LOGIN -> {
+                Response response = send("POST", "/api/auth/login", null,
+                        Map.of("username", patients[patient].username(), "password", PASSWORD));
+                return outcome(response);
+            }
+            case SEARCH_DOCTOR -> {
+                String specialty = SPECIALTIES[random.nextInt(SPECIALTIES.length)];
+                return outcome(send("GET", "/api/patient/search-doctor?specialty="
+                        + URLEncoder.encode(specialty, StandardCharsets.UTF_8), patients[patient].token(), null));
+            }
+            case BOOK -> {
+                Slot slot = freeSlots.poll();
+                if (slot == null) {
+                    return Outcome.SKIPPED;
+                }
+                Response response = send("POST", "/api/patient/book-appointment", patients[patient].token(),
+                        Map.of("doctorId", doctors[slot.doctor()].id(), "slotId", slot.slotId()));
+                if (!response.ok()) {
+                    freeSlots.add(slot);
+                    return Outcome.FAILED;
+                }
+                booked.add(new Booking(json.readTree(response.body()).get("id").asLong(), slot, patient));
+                return Outcome.OK;
+            }
+            case CANCEL -> {
+                Booking booking = booked.poll();
+                if (booking == null) {
+                    return Outcome.SKIPPED;
+                }
+                Response response = send("PUT", "/api/patient/cancel-appointment/" + booking.appointmentId(),
+                        patients[booking.patient()].token(), null);
+                if (response.ok()) {
+                    freeSlots.add(booking.slot());
+                }
+                return outcome(response);
+            }
+            case COMPLETE -> {
+                Booking booking = booked.poll();
+                if (booking == null) {
+                    return Outcome.SKIPPED;
+                }
+                Response response = send("PUT", "/api/doctor/appointments/" + booking.appointmentId() + "/complete",
+                        doctors[booking.slot().doctor()].token(), null);
+                if (response.ok()) {
+                    // A completed slot is used up, it does not go back to the free pool
+                    completed.add(booking);
+                }
+                return outcome(response);
+            }
+            case WRITE_PRESCRIPTION -> {
+                Booking booking = completed.poll();
+                if (booking == null) {
+                    return Outcome.SKIPPED;
+                }
+                Map<String, Object> prescription = Map.of(
+                        "appointmentId", booking.appointmentId(),
+                        "notes", "Twice daily after meals",
+                        "medicines", List.of("Amoxicillin 500mg", "Paracetamol 500mg"));
+                return outcome(send("POST", "/api/doctor/write-prescription/" + patients[booking.patient()].id(),
+                        doctors[booking.slot().doctor()].token(), prescription));
+            }
+            case MEDICAL_HISTORY -> {
+                return outcome(send("GET", "/api/patient/medical-history", patients[patient].token(), null));
+            }
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        return expect(send("POST", "/api/auth/login", null, Map.of("username", username, "password", password)),
+                "login " + username).get("accessToken").asText();
+    }
+
+    private Response send(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private JsonNode expect(Response response, String action) throws IOException {
+        if (!response.ok()) {
+            throw new IllegalStateException(action + " failed with HTTP " + response.status() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return json.readTree(response.body());
+    }
+
+    private static Outcome outcome(Response response) {
+        return response.ok() ? Outcome.OK : Outcome.FAILED;
+    }
+
+    private static Void withPermit(Semaphore permits, Callable<Void> task) throws Exception {
+        permits.acquire();
+        try {
+            return task.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void report(Map<Operation, LatencySamples> results, int users, int durationSeconds) {
+        System.out.printf("%n%d virtual users, %d s measured%n", users, durationSeconds);
+        System.out.printf("%-48s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+
+        LatencySamples all = new LatencySamples();
+        for (Operation operation : Operation.values()) {
+            LatencySamples samples = results.getOrDefault(operation, new LatencySamples());
+            all.addAll(samples);
+            printRow(operation.endpoint, samples, durationSeconds);
+        }
+        printRow("all", all, durationSeconds);
+    }
+
+    private static void printRow(String label, LatencySamples samples, int durationSeconds) {
+        long requests = samples.size() + samples.errors();
+        double[] percentiles = samples.percentilesMillis(0.50, 0.99, 0.999);
+        double errorRate = requests == 0 ? 0 : 100.0 * samples.errors() / requests;
+        System.out.printf("%-48s %9d %9.1f %9.1f %9.1f %9.1f %7.2f%%%n", label, requests,
+                (double) requests / durationSeconds, percentiles[0], percentiles[1], percentiles[2], errorRate);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.healthcare_appointment_system.perf.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of successful requests in nanoseconds plus a failed request count. Not thread-safe:
+ * each client keeps its own and they are merged once the run is over.
+ */
+final class LatencySamples {
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    void add(long latencyNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+    }
+
+    void addError() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentiles in milliseconds, e.g. {@code percentilesMillis(0.5, 0.99)}.
+     */
+    double[] percentilesMillis(double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (size == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.min(size - 1, Math.ceil(percentiles[i] * size) - 1);
+            result[i] = sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.healthcare_appointment_system.perf.loadtest;
+
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Servlet context on H2 with one endpoint shaped like the real ones: a JDBC read followed
+ * by a blocking remote call (the Mongo read in patient history), simulated with a sleep so
+ * the run needs no Postgres or Mongo. Security is left out; only the threading model differs.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class,
+        SecurityAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class
+})
+@EntityScan(basePackageClasses = Doctor.class)
+@EnableJpaRepositories(basePackageClasses = DoctorRepository.class)
+@Import(LoadTestApplication.DoctorLookupController.class)
+public class LoadTestApplication {
+
+    public static ConfigurableApplicationContext start(boolean virtualThreads, int ioMillis) {
+        String[] args = Stream.concat(Stream.of(PerfJpaConfiguration.h2Arguments()), Stream.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.jpa.open-in-view=false", // release the connection before the remote call
+                "--loadtest.io-millis=" + ioMillis
+        )).toArray(String[]::new);
+
+        return new SpringApplicationBuilder(LoadTestApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args);
+    }
+
+    @RestController
+    static class DoctorLookupController {
+        private final DoctorRepository doctorRepository;
+        private final long ioMillis;
+
+        DoctorLookupController(DoctorRepository doctorRepository,
+                               @Value("${loadtest.io-millis}") long ioMillis) {
+            this.doctorRepository = doctorRepository;
+            this.ioMillis = ioMillis;
+        }
+
+        @GetMapping("/loadtest/doctors/{id}")
+        public Map<String, Object> lookup(@PathVariable Long id) throws InterruptedException {
+            Doctor doctor = doctorRepository.findById(id).orElseThrow();
+            Thread.sleep(ioMillis); // remote round trip, holds the request thread like a driver call
+            return Map.of("id", doctor.getId(), "specialty", doctor.getSpecialty());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.healthcare_appointment_system.perf.loadtest;
+
+import org.example.healthcare_appointment_system.Application;
+import org.example.healthcare_appointment_system.perf.InMemoryDocumentStore;
+import org.example.healthcare_appointment_system.perf.PerfJpaConfiguration;
+import org.example.healthcare_appointment_system.repo.MedicalRecordRepository;
+import org.example.healthcare_appointment_system.repo.PrescriptionRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.FilterType;
+
+import java.util.stream.Stream;
+
+/**
+ * The complete application (controllers, security, caching, aspects) on H2, with the
+ * Mongo collections replaced by {@link InMemoryDocumentStore}, so a load test needs no
+ * database servers. Mirrors {@link Application} minus Mongo; the perf sources themselves
+ * are kept out of the component scan.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class
+})
+@AutoConfigurationPackage(basePackageClasses = Application.class) // entity and JPA repository scanning
+@EnableAspectJAutoProxy
+@ComponentScan(basePackageClasses = Application.class, excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = Application.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.healthcare_appointment_system\\.perf\\..*")
+})
+public class OfflineClinicApplication {
+
+    public static ConfigurableApplicationContext start() {
+        String[] args = Stream.concat(Stream.of(PerfJpaConfiguration.h2Arguments()), Stream.of(
+                "--server.port=0",
+                "--logging.level.org.example=WARN"
+        )).toArray(String[]::new);
+
+        return new SpringApplicationBuilder(OfflineClinicApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args);
+    }
+
+    @Bean
+    public InMemoryDocumentStore documentStore() {
+        return new InMemoryDocumentStore();
+    }
+
+    @Bean
+    public PrescriptionRepository prescriptionRepository(InMemoryDocumentStore documentStore) {
+        return documentStore.prescriptionRepository();
+    }
+
+    @Bean
+    public MedicalRecordRepository medicalRecordRepository(InMemoryDocumentStore documentStore) {
+        return documentStore.medicalRecordRepository();
+    }
+}
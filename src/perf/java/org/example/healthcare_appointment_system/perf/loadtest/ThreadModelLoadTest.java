@@ -0,0 +1,112 @@
+package org.example.healthcare_appointment_system.perf.loadtest;
+
+import org.example.healthcare_appointment_system.perf.PerfDataSeeder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test comparing Tomcat's platform thread pool with virtual thread request
+ * handling. Each mode gets a fresh context; {@code loadtest.clients} virtual-thread clients
+ * hammer the endpoint back to back, first for a warmup window and then for the measured one.
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec@loadtest -Dloadtest.clients=2000
+ * </pre>
+ */
+public class ThreadModelLoadTest {
+    private static final int DOCTORS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 2_000);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int ioMillis = Integer.getInteger("loadtest.io-millis", 20);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = LoadTestApplication.start(virtualThreads, ioMillis)) {
+                new PerfDataSeeder(context.getBean(JdbcTemplate.class)).seedDoctors(DOCTORS);
+                int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+                String mode = virtualThreads ? "virtual" : "platform";
+
+                run(port, clients, Duration.ofSeconds(warmupSeconds));
+                results.add(Result.of(mode, run(port, clients, Duration.ofSeconds(durationSeconds)),
+                        durationSeconds));
+            }
+        }
+
+        System.out.printf("%n%d clients, %d ms simulated remote I/O per request, %d s measured%n",
+                clients, ioMillis, durationSeconds);
+        System.out.printf("%-9s %12s %10s %10s %10s %8s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-9s %12d %10.0f %10.1f %10.1f %8d%n", result.mode(), result.requests(),
+                    result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+    }
+
+    private static LatencySamples run(int port, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+            List<Future<LatencySamples>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> client(http, port, deadline)));
+            }
+
+            LatencySamples total = new LatencySamples();
+            for (Future<LatencySamples> future : futures) {
+                total.addAll(future.get());
+            }
+            return total;
+        }
+    }
+
+    private static LatencySamples client(HttpClient http, int port, long deadline) {
+        LatencySamples samples = new LatencySamples();
+        while (System.nanoTime() < deadline) {
+            long doctorId = 1 + ThreadLocalRandom.current().nextInt(DOCTORS);
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/loadtest/doctors/" + doctorId))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    samples.add(System.nanoTime() - start);
+                } else {
+                    samples.addError();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                samples.addError();
+            }
+        }
+        return samples;
+    }
+
+    private record Result(String mode, long requests, double throughput, double p50Millis, double p99Millis,
+                          long errors) {
+        static Result of(String mode, LatencySamples samples, int durationSeconds) {
+            double[] percentiles = samples.percentilesMillis(0.50, 0.99);
+            return new Result(mode, samples.size(), (double) samples.size() / durationSeconds,
+                    percentiles[0], percentiles[1], samples.errors());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.dto.DaySlotsCreateDto;
+import org.example.healthcare_appointment_system.dto.SlotResponseDto;
+import org.example.healthcare_appointment_system.dto.TimeRangeDto;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.ScheduleTemplateRepository;
+import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.service.AdminService;
+import org.example.healthcare_appointment_system.service.ScheduleExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ScheduleTemplateRepository templateRepository;
+
+    @Mock
+    private ScheduleExpander scheduleExpander;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private AdminService adminService;
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor();
+        doctor.setId(1L);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+    }
+
+    @Test
+    void addDaySlots_Success_SavesTemplatesInOneBatchAndMaterializesThem() {
+        when(templateRepository.findByDoctorIdAndDayOfWeek(1L, WeekDay.MONDAY))
+                .thenReturn(List.of(existingTemplate(LocalTime.of(8, 0), LocalTime.of(9, 0))));
+        when(templateRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        LocalDate horizonEnd = LocalDate.of(2030, 3, 4);
+        when(scheduleExpander.horizonEnd()).thenReturn(horizonEnd);
+        when(scheduleExpander.materialize(anyList(), eq(horizonEnd))).thenAnswer(invocation -> {
+            List<ScheduleTemplate> templates = invocation.getArgument(0);
+            return templates.stream().map(template -> {
+                AvailabilitySlot slot = new AvailabilitySlot();
+                slot.setSlotDate(LocalDate.of(2030, 1, 7));
+                slot.setStartTime(template.getStartTime());
+                slot.setEndTime(template.getEndTime());
+                return slot;
+            }).toList();
+        });
+
+        DaySlotsCreateDto dto = new DaySlotsCreateDto(WeekDay.MONDAY, List.of(
+                new TimeRangeDto(LocalTime.of(9, 30), LocalTime.of(10, 0)),
+                new TimeRangeDto(LocalTime.of(9, 0), LocalTime.of(9, 30))
+        ));
+
+        List<SlotResponseDto> result = adminService.addDaySlots(1L, dto);
+
+        assertEquals(2, result.size());
+        assertEquals("2030-01-07", result.get(0).date());
+        assertEquals("09:30", result.get(0).startTime());
+        assertEquals("09:00", result.get(1).startTime());
+        verify(templateRepository, times(1)).findByDoctorIdAndDayOfWeek(1L, WeekDay.MONDAY);
+        verify(templateRepository, times(1)).saveAll(anyList());
+        verify(templateRepository, never()).save(any());
+    }
+
+    @Test
+    void addDaySlots_OverlapWithinRequest_ThrowsAndSavesNothing() {
+        when(templateRepository.findByDoctorIdAndDayOfWeek(1L, WeekDay.MONDAY)).thenReturn(List.of());
+
+        DaySlotsCreateDto dto = new DaySlotsCreateDto(WeekDay.MONDAY, List.of(
+                new TimeRangeDto(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new TimeRangeDto(LocalTime.of(9, 45), LocalTime.of(10, 15))
+        ));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> adminService.addDaySlots(1L, dto));
+
+        assertEquals("Slot 09:45 - 10:15 overlaps with another slot in this request", ex.getMessage());
+        verify(templateRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void addDaySlots_OverlapWithExistingSlot_Throws() {
+        when(templateRepository.findByDoctorIdAndDayOfWeek(1L, WeekDay.MONDAY))
+                .thenReturn(List.of(existingTemplate(LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        DaySlotsCreateDto dto = new DaySlotsCreateDto(WeekDay.MONDAY, List.of(
+                new TimeRangeDto(LocalTime.of(8, 30), LocalTime.of(9, 15))
+        ));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> adminService.addDaySlots(1L, dto));
+
+        assertEquals("Slot overlaps with existing slot on MONDAY", ex.getMessage());
+        verify(templateRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void addDaySlots_DuplicateOfExistingSlot_Throws() {
+        when(templateRepository.findByDoctorIdAndDayOfWeek(1L, WeekDay.MONDAY))
+                .thenReturn(List.of(existingTemplate(LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        DaySlotsCreateDto dto = new DaySlotsCreateDto(WeekDay.MONDAY, List.of(
+                new TimeRangeDto(LocalTime.of(9, 0), LocalTime.of(10, 0))
+        ));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> adminService.addDaySlots(1L, dto));
+
+        assertEquals("Slot already exists: 09:00 - 10:00", ex.getMessage());
+    }
+
+    private ScheduleTemplate existingTemplate(LocalTime start, LocalTime end) {
+        ScheduleTemplate template = new ScheduleTemplate();
+        template.setDoctor(doctor);
+        template.setDayOfWeek(WeekDay.MONDAY);
+        template.setStartTime(start);
+        template.setEndTime(end);
+        return template;
+    }
+}
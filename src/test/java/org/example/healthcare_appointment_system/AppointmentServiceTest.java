@@ -1,6 +1,12 @@
 package org.example.healthcare_appointment_system;
 
+import org.example.healthcare_appointment_system.dto.BatchBookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.BatchBookingResultDto;
 import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.NextAvailableSlotDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingDto;
+import org.example.healthcare_appointment_system.dto.SeriesBookingResultDto;
+import org.example.healthcare_appointment_system.dto.SeriesConflictDto;
 import org.example.healthcare_appointment_system.entity.*;
 import org.example.healthcare_appointment_system.enums.AppointmentStatus;
 import org.example.healthcare_appointment_system.enums.Role;
@@ -8,6 +14,8 @@ import org.example.healthcare_appointment_system.enums.WeekDay;
 import org.example.healthcare_appointment_system.repo.*;
 import org.example.healthcare_appointment_system.security.SecurityUtils;
 import org.example.healthcare_appointment_system.service.AppointmentService;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.example.healthcare_appointment_system.service.SlotHoldRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,16 +23,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AppointmentServiceTest {
+    private static final LocalDate NEXT_MONDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
 
     @Mock
     private AvailabilitySlotRepository slotRepository;
@@ -38,6 +57,12 @@ class AppointmentServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private SlotAvailabilityIndex slotIndex;
+
+    @Mock
+    private SlotHoldRegistry slotHolds;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -72,6 +97,7 @@ class AppointmentServiceTest {
         testSlot = new AvailabilitySlot();
         testSlot.setId(1L);
         testSlot.setDoctor(testDoctor);
+        testSlot.setSlotDate(NEXT_MONDAY);
         testSlot.setDayOfWeek(WeekDay.MONDAY);
         testSlot.setStartTime(LocalTime.of(9, 0));
         testSlot.setEndTime(LocalTime.of(10, 0));
@@ -86,16 +112,12 @@ class AppointmentServiceTest {
             BookAppointmentDto dto = new BookAppointmentDto(1L, 1L);
 
             when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
-            when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
             when(slotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
-            when(appointmentRepository.existsBySlotIdAndStatus(1L, AppointmentStatus.BOOKED))
-                    .thenReturn(false);
             when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> {
                 Appointment appointment = invocation.getArgument(0);
                 appointment.setId(1L);
                 return appointment;
             });
-            when(slotRepository.save(any(AvailabilitySlot.class))).thenReturn(testSlot);
 
             var result = appointmentService.bookAppointment(dto);
 
@@ -103,10 +125,99 @@ class AppointmentServiceTest {
             assertEquals(1L, result.id());
             assertEquals("doctor1", result.doctorName());
             assertEquals("patient1", result.patientName());
+            assertEquals(NEXT_MONDAY.toString(), result.date());
             assertEquals("BOOKED", result.status());
 
-            verify(slotRepository).save(testSlot);
+            // Reserved by a dirty-checked versioned update, flushed before the appointment insert
             assertTrue(testSlot.isReserved());
+            verify(slotRepository).flush();
+            verify(slotRepository, never()).save(any());
+            verify(appointmentRepository).save(argThat(appointment ->
+                    appointment.getAppointmentTime().equals(NEXT_MONDAY.atTime(9, 0))));
+        }
+    }
+
+    @Test
+    void bookAppointment_PastSlot_ThrowsException() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            BookAppointmentDto dto = new BookAppointmentDto(1L, 1L);
+            testSlot.setSlotDate(LocalDate.now().minusDays(1));
+
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> appointmentService.bookAppointment(dto));
+
+            assertEquals("This slot is in the past", exception.getMessage());
+            assertFalse(testSlot.isReserved());
+            verify(slotRepository, never()).flush();
+            verify(appointmentRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    void bookAppointment_SlotHeldByOtherPatient_ThrowsBeforeReserving() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+            when(slotHolds.isHeldByOther(1L, 1L)).thenReturn(true);
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> appointmentService.bookAppointment(new BookAppointmentDto(1L, 1L)));
+
+            assertEquals("This slot is on hold by another patient", exception.getMessage());
+            verifyNoInteractions(slotRepository, appointmentRepository);
+        }
+    }
+
+    @Test
+    void holdSlot_FreeSlot_ReturnsHoldWithoutReserving() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+            when(slotRepository.findReservationStateById(1L))
+                    .thenReturn(Optional.of(new SlotReservationState(1L, false, 0L)));
+            Instant expiresAt = Instant.now().plusSeconds(120);
+            when(slotHolds.acquire(1L, 1L, 1L)).thenReturn(new SlotHoldRegistry.SlotHold("hold-1", 1L, 1L, 1L, expiresAt));
+
+            var result = appointmentService.holdSlot(new BookAppointmentDto(1L, 1L));
+
+            assertEquals("hold-1", result.holdId());
+            assertEquals(expiresAt.toString(), result.expiresAt());
+            verify(slotRepository, never()).findById(any());
+        }
+    }
+
+    @Test
+    void confirmHold_BooksHeldSlotAndReleasesHold() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+            when(slotHolds.find("hold-1")).thenReturn(Optional.of(
+                    new SlotHoldRegistry.SlotHold("hold-1", 1L, 1L, 1L, Instant.now().plusSeconds(60))));
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
+            when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            var result = appointmentService.confirmHold("hold-1");
+
+            assertEquals("BOOKED", result.status());
+            verify(slotHolds).release(1L, 1L);
+        }
+    }
+
+    @Test
+    void confirmHold_HoldOfAnotherPatient_ThrowsException() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(2L);
+            when(slotHolds.find("hold-1")).thenReturn(Optional.of(
+                    new SlotHoldRegistry.SlotHold("hold-1", 1L, 1L, 1L, Instant.now().plusSeconds(60))));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> appointmentService.confirmHold("hold-1"));
+
+            assertEquals("Hold not found or expired", exception.getMessage());
+            verifyNoInteractions(slotRepository, appointmentRepository);
         }
     }
 
@@ -117,44 +228,53 @@ class AppointmentServiceTest {
 
             BookAppointmentDto dto = new BookAppointmentDto(1L, 1L);
 
+            testSlot.setReserved(true);
             when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
-            when(appointmentRepository.existsBySlotIdAndStatus(1L, AppointmentStatus.BOOKED))
-                    .thenReturn(true);
+            when(slotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
 
             IllegalStateException exception = assertThrows(IllegalStateException.class,
                     () -> appointmentService.bookAppointment(dto));
 
             assertEquals("This slot is already booked", exception.getMessage());
 
-            verify(slotRepository, never()).save(any());
+            verify(slotRepository, never()).flush();
             verify(appointmentRepository, never()).save(any());
         }
     }
 
     @Test
-    void bookAppointment_SlotAlreadyReserved_ThrowsException() {
+    void bookAppointment_LosesReservationRace_ThrowsException() {
         try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
             securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
 
             BookAppointmentDto dto = new BookAppointmentDto(1L, 1L);
-            testSlot.setReserved(true);
 
             when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
-            when(appointmentRepository.existsBySlotIdAndStatus(1L, AppointmentStatus.BOOKED))
-                    .thenReturn(false);
-            when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+            // Free when read, but another booking's update bumped the version first
             when(slotRepository.findById(1L)).thenReturn(Optional.of(testSlot));
+            doThrow(new ObjectOptimisticLockingFailureException(AvailabilitySlot.class, 1L))
+                    .when(slotRepository).flush();
 
-            RuntimeException exception = assertThrows(RuntimeException.class,
+            RuntimeException exception = assertThrows(IllegalStateException.class,
                     () -> appointmentService.bookAppointment(dto));
 
             assertEquals("This slot is already booked", exception.getMessage());
-
-            verify(slotRepository, never()).save(any());
             verify(appointmentRepository, never()).save(any());
         }
     }
 
+    @Test
+    void bookAppointment_SlotReservedInIndex_ThrowsWithoutDatabaseAccess() {
+        BookAppointmentDto dto = new BookAppointmentDto(1L, 1L);
+        when(slotIndex.isReserved(1L)).thenReturn(true);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> appointmentService.bookAppointment(dto));
+
+        assertEquals("This slot is already booked", exception.getMessage());
+        verifyNoInteractions(patientRepository, doctorRepository, slotRepository, appointmentRepository);
+    }
+
     @Test
     void markAppointmentCompleted_Success() {
         try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
@@ -171,13 +291,227 @@ class AppointmentServiceTest {
             when(doctorRepository.findByUserId(2L)).thenReturn(Optional.of(testDoctor));
             when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
             when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
-            when(slotRepository.save(any(AvailabilitySlot.class))).thenReturn(testSlot);
 
             var result = appointmentService.markAppointmentCompleted(1L);
 
             assertNotNull(result);
             assertEquals("COMPLETED", result.status());
+            assertEquals(NEXT_MONDAY.toString(), result.date());
+            // Dated slots are used up by their appointment, not handed out again
+            assertTrue(testSlot.isReserved());
+            verify(slotRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    void findNextAvailable_QueriesSoonestFreeSlotsFromRequestedTime() {
+        LocalDateTime from = NEXT_MONDAY.plusWeeks(1).atTime(8, 30);
+        when(slotRepository.findNextAvailable("cardiology", from.toLocalDate(), from.toLocalTime(), Limit.of(2)))
+                .thenReturn(List.of(
+                        new FreeSlotView(4L, 1L, "doctor1", from.toLocalDate(), LocalTime.of(9, 0), LocalTime.of(9, 30)),
+                        new FreeSlotView(9L, 3L, "doctor3", from.toLocalDate(), LocalTime.of(9, 0), LocalTime.of(9, 15))));
+
+        var result = appointmentService.findNextAvailable(" Cardiology ", from, 2);
+
+        assertEquals(2, result.size());
+        assertEquals(4L, result.get(0).slotId());
+        assertEquals(from.toLocalDate().toString(), result.get(0).date());
+        assertEquals("09:15", result.get(1).endTime());
+        verify(doctorRepository, never()).findBySpecialtyIgnoreCase(any());
+    }
+
+    @Test
+    void findNextAvailable_PastStartAndHugeLimit_AreClamped() {
+        when(slotRepository.findNextAvailable(eq("cardiology"), any(LocalDate.class), any(LocalTime.class), eq(Limit.of(50))))
+                .thenReturn(List.of());
+
+        appointmentService.findNextAvailable("cardiology", LocalDateTime.of(2000, 1, 1, 0, 0), 10_000);
+
+        verify(slotRepository).findNextAvailable(eq("cardiology"),
+                argThat(date -> !date.isBefore(LocalDate.now().minusDays(1))), any(LocalTime.class), eq(Limit.of(50)));
+    }
+
+    @Test
+    void getMyAvailableSlots_UsesIndexedProjectionQuery() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(2L);
+
+            when(slotRepository.findUnreservedByDoctorUserId(2L, LocalDate.now())).thenReturn(List.of(
+                    new SlotView(1L, NEXT_MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), false)));
+
+            var result = appointmentService.getMyAvailableSlots();
+
+            assertEquals(1, result.size());
+            assertEquals(NEXT_MONDAY.toString(), result.get(0).date());
+            assertEquals("09:00", result.get(0).startTime());
+            verify(slotRepository, never()).findAll();
+            verify(doctorRepository, never()).findAll();
+        }
+    }
+
+    @Test
+    void getMyAvailableSlots_NoDoctorProfile_ThrowsException() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(5L);
+
+            when(slotRepository.findUnreservedByDoctorUserId(5L, LocalDate.now())).thenReturn(List.of());
+            when(doctorRepository.existsByUserId(5L)).thenReturn(false);
+
+            assertThrows(RuntimeException.class, () -> appointmentService.getMyAvailableSlots());
+        }
+    }
+
+    @Test
+    void bookAppointments_AllOrNothing_OneTakenSlot_FailsWholeBatch() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            AvailabilitySlot takenSlot = slot(2L, true);
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.lockAllByIdInOrder(List.of(1L, 2L))).thenReturn(List.of(testSlot, takenSlot));
+
+            BatchBookAppointmentDto dto = new BatchBookAppointmentDto(
+                    List.of(new BookAppointmentDto(1L, 2L), new BookAppointmentDto(1L, 1L)), null);
+
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> appointmentService.bookAppointments(dto));
+
+            assertEquals("Slot 2: This slot is already booked", ex.getMessage());
             assertFalse(testSlot.isReserved());
+            verify(appointmentRepository, never()).saveAll(any());
         }
     }
+
+    @Test
+    void bookAppointments_PerItem_BooksFreeSlotsAndReportsTheRest() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            AvailabilitySlot takenSlot = slot(2L, true);
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.lockAllByIdInOrder(List.of(1L, 2L))).thenReturn(List.of(testSlot, takenSlot));
+            when(appointmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Appointment> appointments = invocation.getArgument(0);
+                long id = 10;
+                for (Appointment appointment : appointments) {
+                    appointment.setId(id++);
+                }
+                return appointments;
+            });
+
+            BatchBookAppointmentDto dto = new BatchBookAppointmentDto(List.of(
+                    new BookAppointmentDto(1L, 1L),
+                    new BookAppointmentDto(1L, 2L),
+                    new BookAppointmentDto(1L, 1L)), false);
+
+            List<BatchBookingResultDto> results = appointmentService.bookAppointments(dto);
+
+            assertEquals(3, results.size());
+            assertEquals(10L, results.get(0).appointment().id());
+            assertEquals(NEXT_MONDAY.toString(), results.get(0).appointment().date());
+            assertNull(results.get(0).error());
+            assertEquals("This slot is already booked", results.get(1).error());
+            assertEquals("Slot appears more than once in the batch", results.get(2).error());
+            assertNull(results.get(2).appointment());
+            assertTrue(testSlot.isReserved());
+            verify(appointmentRepository).saveAll(argThat(appointments -> ((List<?>) appointments).size() == 1));
+            verify(slotHolds).release(1L, 1L);
+        }
+    }
+
+    @Test
+    void bookSeries_ConflictWithoutPartial_BooksNothingAndSuggestsClosestAlternatives() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            LocalDate week1 = NEXT_MONDAY.plusWeeks(1);
+            LocalDate week2 = NEXT_MONDAY.plusWeeks(2);
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.findByDoctorIdAndSlotDateInAndStartTime(1L, List.of(NEXT_MONDAY, week1, week2),
+                    LocalTime.of(9, 0))).thenReturn(List.of(
+                    new SlotView(1L, NEXT_MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), false),
+                    new SlotView(2L, week1, LocalTime.of(9, 0), LocalTime.of(10, 0), true)));
+            when(slotRepository.findFreeByDoctorIdAndSlotDateIn(1L, Set.of(week1, week2))).thenReturn(List.of(
+                    new FreeSlotView(5L, 1L, "doctor1", week1, LocalTime.of(14, 0), LocalTime.of(15, 0)),
+                    new FreeSlotView(6L, 1L, "doctor1", week1, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+            SeriesBookingResultDto result = appointmentService.bookSeries(
+                    new SeriesBookingDto(1L, NEXT_MONDAY, LocalTime.of(9, 0), 3, false));
+
+            assertTrue(result.booked().isEmpty());
+            assertEquals(2, result.conflicts().size());
+            SeriesConflictDto taken = result.conflicts().get(0);
+            assertEquals(week1.toString(), taken.date());
+            assertEquals("This slot is already booked", taken.reason());
+            assertEquals(List.of(6L, 5L), taken.alternatives().stream().map(NextAvailableSlotDto::slotId).toList());
+            assertEquals("No slot at this time", result.conflicts().get(1).reason());
+            assertTrue(result.conflicts().get(1).alternatives().isEmpty());
+            verify(slotRepository, never()).flush();
+            verify(appointmentRepository, never()).saveAll(any());
+        }
+    }
+
+    @Test
+    void bookSeries_PartialAllowed_ReservesFreeOccurrencesInOneFlush() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            LocalDate week1 = NEXT_MONDAY.plusWeeks(1);
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.findByDoctorIdAndSlotDateInAndStartTime(1L, List.of(NEXT_MONDAY, week1),
+                    LocalTime.of(9, 0))).thenReturn(List.of(
+                    new SlotView(1L, NEXT_MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), false)));
+            when(slotRepository.findAllById(List.of(1L))).thenReturn(List.of(testSlot));
+            when(appointmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Appointment> appointments = invocation.getArgument(0);
+                appointments.forEach(appointment -> appointment.setId(20L));
+                return appointments;
+            });
+
+            SeriesBookingResultDto result = appointmentService.bookSeries(
+                    new SeriesBookingDto(1L, NEXT_MONDAY, LocalTime.of(9, 0), 2, true));
+
+            assertEquals(1, result.booked().size());
+            assertEquals(20L, result.booked().get(0).id());
+            assertEquals(NEXT_MONDAY.toString(), result.booked().get(0).date());
+            assertEquals(1, result.conflicts().size());
+            assertEquals(week1.toString(), result.conflicts().get(0).date());
+            assertTrue(testSlot.isReserved());
+            verify(slotRepository).flush();
+            verify(slotHolds).release(1L, 1L);
+        }
+    }
+
+    @Test
+    void bookSeries_OccurrenceBookedConcurrently_ThrowsException() {
+        try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
+            securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(1L);
+
+            LocalDate week1 = NEXT_MONDAY.plusWeeks(1);
+            when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(testPatient));
+            when(slotRepository.findByDoctorIdAndSlotDateInAndStartTime(1L, List.of(NEXT_MONDAY, week1),
+                    LocalTime.of(9, 0))).thenReturn(List.of(
+                    new SlotView(1L, NEXT_MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), false),
+                    new SlotView(2L, week1, LocalTime.of(9, 0), LocalTime.of(10, 0), false)));
+            when(slotRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testSlot, slot(2L, false)));
+            doThrow(new ObjectOptimisticLockingFailureException(AvailabilitySlot.class, 2L))
+                    .when(slotRepository).flush();
+
+            assertThrows(IllegalStateException.class, () -> appointmentService.bookSeries(
+                    new SeriesBookingDto(1L, NEXT_MONDAY, LocalTime.of(9, 0), 2, false)));
+            verify(appointmentRepository, never()).saveAll(any());
+        }
+    }
+
+    private AvailabilitySlot slot(Long id, boolean reserved) {
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setId(id);
+        slot.setDoctor(testDoctor);
+        slot.setSlotDate(NEXT_MONDAY);
+        slot.setDayOfWeek(WeekDay.MONDAY);
+        slot.setStartTime(LocalTime.of(10, 0));
+        slot.setEndTime(LocalTime.of(11, 0));
+        slot.setReserved(reserved);
+        return slot;
+    }
 }
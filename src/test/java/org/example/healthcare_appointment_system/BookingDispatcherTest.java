@@ -0,0 +1,119 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.dto.BatchBookAppointmentDto;
+import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.repo.AppointmentRepository;
+import org.example.healthcare_appointment_system.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Booking writes with lanes enabled: checks which thread each command ends up on.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingDispatcherTest {
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    @Mock
+    private PatientService patientService;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private SlotHoldRegistry slotHolds;
+
+    @Mock
+    private ObjectProvider<BookingLanes> bookingLanes;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingLanes lanes;
+    private BookingDispatcher dispatcher;
+    private final AtomicReference<String> executedOn = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lanes = new BookingLanes(transactionManager, 4, 32);
+        when(bookingLanes.getIfAvailable()).thenReturn(lanes);
+        dispatcher = new BookingDispatcher(appointmentService, patientService, appointmentRepository, slotHolds,
+                bookingLanes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanes.stop();
+    }
+
+    @Test
+    void confirmHold_RunsOnTheHeldDoctorsLane() {
+        when(slotHolds.find("hold-1")).thenReturn(Optional.of(
+                new SlotHoldRegistry.SlotHold("hold-1", 3L, 7L, 1L, Instant.now().plusSeconds(60))));
+        when(appointmentService.confirmHold("hold-1")).thenAnswer(invocation -> {
+            executedOn.set(Thread.currentThread().getName());
+            return null;
+        });
+
+        dispatcher.confirmHold("hold-1");
+
+        assertTrue(executedOn.get().startsWith("booking-lane-"));
+    }
+
+    @Test
+    void confirmHold_UnknownHold_IsRejectedByTheServiceDirectly() {
+        when(slotHolds.find("gone")).thenReturn(Optional.empty());
+        when(appointmentService.confirmHold("gone")).thenThrow(new IllegalStateException("Hold not found or expired"));
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.confirmHold("gone"));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void bookAppointments_SingleDoctor_RunsOnThatDoctorsLane() {
+        BatchBookAppointmentDto dto = new BatchBookAppointmentDto(
+                List.of(new BookAppointmentDto(7L, 1L), new BookAppointmentDto(7L, 2L)), true);
+        when(appointmentService.bookAppointments(dto)).thenAnswer(invocation -> {
+            executedOn.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        dispatcher.bookAppointments(dto);
+
+        assertTrue(executedOn.get().startsWith("booking-lane-"));
+    }
+
+    @Test
+    void bookAppointments_SeveralDoctors_RunsDirectlyOnCallerThread() {
+        BatchBookAppointmentDto dto = new BatchBookAppointmentDto(
+                List.of(new BookAppointmentDto(7L, 1L), new BookAppointmentDto(8L, 2L)), true);
+        when(appointmentService.bookAppointments(dto)).thenAnswer(invocation -> {
+            executedOn.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        dispatcher.bookAppointments(dto);
+
+        assertEquals(Thread.currentThread().getName(), executedOn.get());
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.service.BookingLanes;
+import org.example.healthcare_appointment_system.service.SlotUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookingLanesTest {
+    private PlatformTransactionManager transactionManager;
+    private BookingLanes lanes;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lanes = new BookingLanes(transactionManager, 1, 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanes.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submit_RunsOnLaneThreadWithCallerSecurityContext() {
+        Authentication caller = new UsernamePasswordAuthenticationToken("patient1", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(caller);
+
+        String result = lanes.submit(7L, () -> Thread.currentThread().getName() + ":"
+                + SecurityContextHolder.getContext().getAuthentication().getName());
+
+        assertEquals("booking-lane-0:patient1", result);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void failingCommandInBatch_IsRetriedAloneAndDoesNotFailTheOthers() throws Exception {
+        ExecutorService callers = Executors.newCachedThreadPool();
+        CountDownLatch laneBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the lane so the next three commands pile up and run as one batch
+        Future<String> blocker = callers.submit(() -> lanes.submit(7L, () -> {
+            laneBusy.countDown();
+            await(release);
+            return "blocker";
+        }));
+        assertTrue(laneBusy.await(5, TimeUnit.SECONDS));
+
+        // Queued one at a time so the batch order is first, failing, last
+        AtomicInteger goodRuns = new AtomicInteger();
+        ConcurrentLinkedQueue<Thread> waiting = new ConcurrentLinkedQueue<>();
+        Future<String> first = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.submit(7L, () -> "first" + goodRuns.incrementAndGet());
+        });
+        awaitQueued(waiting, 1);
+        Future<String> failing = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.<String>submit(7L, () -> {
+                throw new IllegalStateException("This slot is already booked");
+            });
+        });
+        awaitQueued(waiting, 2);
+        Future<String> last = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.submit(7L, () -> "last" + goodRuns.incrementAndGet());
+        });
+        awaitQueued(waiting, 3);
+        release.countDown();
+
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals("This slot is already booked", ex.getCause().getMessage());
+        // "first" ran in the rolled back batch and once more on its own, "last" only on its own
+        assertEquals("first2", first.get(5, TimeUnit.SECONDS));
+        assertEquals("last3", last.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    void rejectedCommandInBatch_FailsAloneWhileTheBatchCommitsOnce() throws Exception {
+        ExecutorService callers = Executors.newCachedThreadPool();
+        CountDownLatch laneBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> blocker = callers.submit(() -> lanes.submit(7L, () -> {
+            laneBusy.countDown();
+            await(release);
+            return "blocker";
+        }));
+        assertTrue(laneBusy.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger goodRuns = new AtomicInteger();
+        ConcurrentLinkedQueue<Thread> waiting = new ConcurrentLinkedQueue<>();
+        Future<String> first = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.submit(7L, () -> "first" + goodRuns.incrementAndGet());
+        });
+        awaitQueued(waiting, 1);
+        Future<String> rejected = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.<String>submit(7L, () -> {
+                throw new SlotUnavailableException("This slot is already booked");
+            });
+        });
+        awaitQueued(waiting, 2);
+        Future<String> last = callers.submit(() -> {
+            waiting.add(Thread.currentThread());
+            return lanes.submit(7L, () -> "last" + goodRuns.incrementAndGet());
+        });
+        awaitQueued(waiting, 3);
+        release.countDown();
+
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SlotUnavailableException.class, ex.getCause());
+        // Nothing re-ran: each good command ran once, in the batch that committed
+        assertEquals("first1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("last2", last.get(5, TimeUnit.SECONDS));
+        verify(transactionManager, never()).rollback(any());
+        callers.shutdown();
+    }
+
+    @Test
+    void submit_AfterStop_IsRejected() {
+        lanes.stop();
+
+        assertThrows(IllegalStateException.class, () -> lanes.submit(7L, () -> "late"));
+    }
+
+    /**
+     * Waits until {@code count} callers are parked on their result, i.e. their command is queued.
+     */
+    private static void awaitQueued(ConcurrentLinkedQueue<Thread> callers, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((callers.size() < count || callers.stream().anyMatch(t -> t.getState() != Thread.State.WAITING))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
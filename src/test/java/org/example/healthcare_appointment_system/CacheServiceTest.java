@@ -0,0 +1,110 @@
+package org.example.healthcare_appointment_system;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.cacheTest.CacheConfig;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.dto.CacheRegionStatsDto;
+import org.example.healthcare_appointment_system.entity.User;
+import org.example.healthcare_appointment_system.enums.Role;
+import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the statistics of the real ehcache.xml regions, shared by Hibernate and Spring
+ * the same way as in the application.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache(cacheProvider = CacheType.JCACHE)
+@Import({CacheConfig.class, CacheService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheServiceTest {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        cacheManager.getCache(CacheService.DOCTOR_SEARCH_RESULTS).clear();
+
+        userId = userRepository.save(User.builder()
+                .username("stats")
+                .email("stats@example.com")
+                .phone("4444444444")
+                .password("encoded")
+                .role(Role.PATIENT)
+                .enabled(true)
+                .build()).getId();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getRegionStatistics_HibernateRegion_CountsEntriesAndHits() {
+        long hitsBefore = region("users").hitCount();
+
+        readUserInNewSession();
+        readUserInNewSession();
+
+        CacheRegionStatsDto users = region("users");
+        assertEquals(1, users.entryCount());
+        assertEquals(1, users.hitCount() - hitsBefore);
+        // Heaps are sized in entries, so Ehcache does not measure their bytes
+        assertEquals(-1, users.heapBytes());
+    }
+
+    @Test
+    void getRegionStatistics_SpringRegion_CountsEntries() {
+        cacheManager.getCache(CacheService.DOCTOR_SEARCH_RESULTS).put("cardiology", List.of());
+        cacheManager.getCache(CacheService.DOCTOR_SEARCH_RESULTS).put("neurology", List.of());
+
+        assertEquals(2, region(CacheService.DOCTOR_SEARCH_RESULTS).entryCount());
+    }
+
+    private void readUserInNewSession() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertEquals("stats", userRepository.findById(userId).orElseThrow().getUsername()));
+    }
+
+    private CacheRegionStatsDto region(String name) {
+        return cacheService.getRegionStatistics().stream()
+                .filter(stats -> stats.region().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.healthcare_appointment_system;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.User;
+import org.example.healthcare_appointment_system.enums.Role;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndexListener;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proves the doctor query caches are really used: once warmed, repeating a query
+ * (and walking the user and slots it returns) must not reach the database.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SlotAvailabilityIndex.class, SlotAvailabilityIndexListener.class, CacheService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DoctorQueryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = userRepository.save(User.builder()
+                .username("cardio")
+                .email("cardio@example.com")
+                .phone("3333333333")
+                .password("encoded")
+                .role(Role.DOCTOR)
+                .enabled(true)
+                .build());
+
+        Doctor doctor = new Doctor();
+        doctor.setUser(user);
+        doctor.setSpecialty("Cardiology");
+        doctorRepository.save(doctor);
+
+        for (int hour = 9; hour < 12; hour++) {
+            AvailabilitySlot slot = new AvailabilitySlot();
+            slot.setDoctor(doctor);
+            slot.setDayOfWeek(WeekDay.MONDAY);
+            slot.setStartTime(LocalTime.of(hour, 0));
+            slot.setEndTime(LocalTime.of(hour, 30));
+            slotRepository.save(slot);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        doctorRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findBySpecialty_SecondCall_IssuesNoSql() {
+        readInNewSession(() -> doctorRepository.findBySpecialtyIgnoreCase("Cardiology"));
+
+        statistics.clear();
+        int slots = readInNewSession(() -> doctorRepository.findBySpecialtyIgnoreCase("Cardiology"));
+
+        assertEquals(3, slots);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findAll_SecondCall_IssuesNoSql() {
+        readInNewSession(() -> doctorRepository.findAll());
+
+        statistics.clear();
+        int slots = readInNewSession(() -> doctorRepository.findAll());
+
+        assertEquals(3, slots);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    /**
+     * Runs the query in its own session and touches everything the DTO mapping reads,
+     * so any association not served from the cache would show up as a statement.
+     */
+    private int readInNewSession(Supplier<List<Doctor>> query) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Doctor> doctors = query.get();
+            assertEquals(1, doctors.size());
+            Doctor doctor = doctors.get(0);
+            assertEquals("cardio", doctor.getUser().getUsername());
+            doctor.getAvailabilitySlots().forEach(slot -> assertNotNull(slot.getStartTime()));
+            return doctor.getAvailabilitySlots().size();
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.dto.DoctorResponseDto;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.User;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.DoctorRepository;
+import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
+import org.example.healthcare_appointment_system.service.DoctorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercises the {@code @Cacheable} specialty search through the Spring proxy.
+ */
+@SpringJUnitConfig
+class DoctorSearchCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({DoctorService.class, CacheService.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheService.DOCTOR_SEARCH_RESULTS);
+        }
+    }
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private DoctorRepository doctorRepository;
+
+    @MockitoBean
+    private AvailabilitySlotRepository availabilitySlotRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UserRevocationRegistry userRevocationRegistry;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.clearAllDoctorCaches();
+
+        Doctor doctor = new Doctor();
+        doctor.setId(1L);
+        doctor.setSpecialty("Cardiology");
+        doctor.setUser(User.builder().id(1L).username("doctorUser").build());
+        doctor.setAvailabilitySlots(new ArrayList<>());
+
+        when(doctorRepository.findBySpecialtyIgnoreCase("Cardiology")).thenReturn(List.of(doctor));
+    }
+
+    @Test
+    void searchBySpecialty_NormalizedKey_ServedFromCache() {
+        List<DoctorResponseDto> first = doctorService.searchBySpecialty("Cardiology");
+        List<DoctorResponseDto> second = doctorService.searchBySpecialty("  cardiology ");
+
+        assertSame(first, second);
+        verify(doctorRepository, times(1)).findBySpecialtyIgnoreCase(anyString());
+    }
+
+    @Test
+    void searchBySpecialty_AfterEviction_ReloadsFromRepository() {
+        doctorService.searchBySpecialty("Cardiology");
+        cacheService.evictDoctorSearchResults("CARDIOLOGY");
+        doctorService.searchBySpecialty("Cardiology");
+
+        verify(doctorRepository, times(2)).findBySpecialtyIgnoreCase("Cardiology");
+    }
+}
@@ -1,23 +1,29 @@
 package org.example.healthcare_appointment_system;
 
 import org.example.healthcare_appointment_system.dto.*;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
 import org.example.healthcare_appointment_system.entity.Doctor;
 import org.example.healthcare_appointment_system.entity.User;
 import org.example.healthcare_appointment_system.enums.Role;
 import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
 import org.example.healthcare_appointment_system.repo.DoctorRepository;
 import org.example.healthcare_appointment_system.repo.UserRepository;
 import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
 import org.example.healthcare_appointment_system.service.DoctorService;
+import org.example.healthcare_appointment_system.service.ScheduleExpander;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
 
@@ -40,6 +46,15 @@ class DoctorServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private AvailabilitySlotRepository availabilitySlotRepository;
+
+    @Mock
+    private UserRevocationRegistry userRevocationRegistry;
+
+    @Mock
+    private ScheduleExpander scheduleExpander;
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -90,12 +105,24 @@ class DoctorServiceTest {
         when(passwordEncoder.encode(doctorDto.password())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(doctorRepository.save(any(Doctor.class))).thenReturn(doctor);
+        LocalDate horizonEnd = LocalDate.of(2030, 3, 4);
+        AvailabilitySlot materialized = new AvailabilitySlot();
+        materialized.setId(11L);
+        materialized.setSlotDate(LocalDate.of(2030, 1, 7));
+        materialized.setStartTime(LocalTime.of(9, 0));
+        materialized.setEndTime(LocalTime.of(10, 0));
+        when(scheduleExpander.horizonEnd()).thenReturn(horizonEnd);
+        when(scheduleExpander.materialize(anyList(), eq(horizonEnd))).thenReturn(List.of(materialized));
 
         DoctorResponseDto result = doctorService.createDoctor(doctorDto);
 
         assertNotNull(result);
         assertEquals("doctorUser", result.username());
         assertEquals("Cardiology", result.specialty());
+        assertEquals("2030-01-07", result.availabilitySlots().get(0).date());
+        verify(scheduleExpander).materialize(argThat(templates -> templates.size() == 1
+                && templates.get(0).getDayOfWeek() == WeekDay.MONDAY
+                && templates.get(0).getStartTime().equals(LocalTime.of(9, 0))), eq(horizonEnd));
         verify(userRepository, times(1)).save(any(User.class));
         verify(doctorRepository, times(1)).save(any(Doctor.class));
         verify(cacheService, times(1)).evictAllDoctorsCache();
@@ -137,6 +164,7 @@ class DoctorServiceTest {
         verify(cacheService, times(1)).evictDoctorCache(1L);
         verify(cacheService, times(1)).evictDoctorBySpecialtyCache("Cardiology");
         verify(cacheService, times(1)).evictAllDoctorsCache();
+        verify(userRevocationRegistry, times(1)).revoke(1L);
     }
 
     @Test
@@ -169,6 +197,7 @@ class DoctorServiceTest {
         verify(cacheService, times(1)).evictAllDoctorsCache();
         verify(cacheService, times(1)).evictDoctorBySpecialtyCache("Cardiology");
         verify(cacheService, times(1)).evictDoctorBySpecialtyCache("Neurology");
+        verify(availabilitySlotRepository, times(1)).updateDoctorSpecialty(1L, "neurology");
     }
 
     @Test
@@ -223,4 +252,36 @@ class DoctorServiceTest {
         verify(userRepository, never()).save(any(User.class));
         verify(doctorRepository, never()).save(any(Doctor.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDoctorsPage_FullPage_ReturnsCursorAndBatchLoadsSlots() {
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setId(7L);
+        slot.setDoctor(doctor);
+        slot.setSlotDate(LocalDate.of(2030, 1, 7));
+        slot.setDayOfWeek(WeekDay.MONDAY);
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(9, 30));
+
+        when(doctorRepository.findPageAfter(0L, Limit.of(1))).thenReturn(List.of(doctor));
+        when(availabilitySlotRepository.findByDoctorIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(slot));
+
+        CursorPageDto<DoctorResponseDto> page = doctorService.getDoctorsPage(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, page.nextCursor());
+        assertEquals("09:00", page.items().get(0).availabilitySlots().get(0).startTime());
+        verify(doctorRepository, never()).findAll();
+    }
+
+    @Test
+    void getDoctorsPage_LastPage_HasNoCursorAndClampsSize() {
+        when(doctorRepository.findPageAfter(1L, Limit.of(CursorPageDto.MAX_SIZE))).thenReturn(List.of());
+
+        CursorPageDto<DoctorResponseDto> page = doctorService.getDoctorsPage(1L, 10_000);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verifyNoInteractions(availabilitySlotRepository);
+    }
+}
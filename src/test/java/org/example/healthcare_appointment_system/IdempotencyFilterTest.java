@@ -0,0 +1,198 @@
+package org.example.healthcare_appointment_system;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.healthcare_appointment_system.security.IdempotencyFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+    private static final String BOOK = "/api/patient/book-appointment";
+    private static final String BODY = "{\"doctorId\":7,\"slotId\":1}";
+
+    private ConcurrentMapCacheManager cacheManager;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(IdempotencyFilter.CACHE);
+        filter = new IdempotencyFilter(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithSameKey_ReplaysStoredResponseWithoutExecuting() throws Exception {
+        MockHttpServletResponse original = send("patient1", "key-1", created());
+        MockHttpServletResponse retry = send("patient1", "key-1", created());
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(original.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(original.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void retryWithSameKeyAndDifferentBody_IsRejected() throws Exception {
+        send("patient1", "key-1", created());
+        MockHttpServletResponse retry = send("patient1", "key-1", "{\"doctorId\":7,\"slotId\":2}", created());
+
+        assertEquals(1, executions.get());
+        assertEquals(422, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void requestBody_IsStillReadableDownstream() throws Exception {
+        StringBuilder seen = new StringBuilder();
+        FilterChain reading = (request, response) -> {
+            seen.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            created().doFilter(request, response);
+        };
+
+        send("patient1", "key-1", reading);
+
+        assertEquals(BODY, seen.toString());
+    }
+
+    @Test
+    void sameKeyFromAnotherCaller_IsExecutedSeparately() throws Exception {
+        send("patient1", "key-1", created());
+        send("patient2", "key-1", created());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void serverError_IsNotStored() throws Exception {
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        };
+
+        send("patient1", "key-1", failing);
+        MockHttpServletResponse retry = send("patient1", "key-1", created());
+
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void inFlightDuplicate_WaitsForOriginalInsteadOfExecuting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        Future<MockHttpServletResponse> original = clients.submit(() -> send("patient1", "key-1", slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<MockHttpServletResponse> duplicate = clients.submit(() -> send("patient1", "key-1", created()));
+
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(201, replayed.getStatus());
+        assertEquals("{\"id\":1}", replayed.getContentAsString());
+        assertEquals(1, executions.get());
+        clients.shutdown();
+    }
+
+    @Test
+    void inFlightDuplicateWithDifferentBody_IsRejectedWithoutWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        ExecutorService clients = Executors.newSingleThreadExecutor();
+        Future<MockHttpServletResponse> original = clients.submit(() -> send("patient1", "key-1", slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse duplicate = send("patient1", "key-1", "{\"doctorId\":8,\"slotId\":1}", created());
+        release.countDown();
+
+        assertEquals(422, duplicate.getStatus());
+        assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(1, executions.get());
+        clients.shutdown();
+    }
+
+    @Test
+    void requestWithoutKey_IsNotIntercepted() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(patient("patient1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", BOOK);
+
+        filter.doFilter(request, new MockHttpServletResponse(), created());
+        filter.doFilter(request, new MockHttpServletResponse(), created());
+
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletResponse send(String username, String key, FilterChain chain) throws Exception {
+        return send(username, key, BODY, chain);
+    }
+
+    private MockHttpServletResponse send(String username, String key, String body, FilterChain chain)
+            throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(patient(username));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", BOOK);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            int id = executions.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static UsernamePasswordAuthenticationToken patient(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null,
+                List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+    }
+}
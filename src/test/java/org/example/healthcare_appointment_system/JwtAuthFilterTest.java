@@ -0,0 +1,109 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.repo.RefreshTokenFamilyRepository;
+import org.example.healthcare_appointment_system.repo.UserRevocationRepository;
+import org.example.healthcare_appointment_system.security.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RefreshTokenFamilyRepository familyRepository;
+
+    @Mock
+    private UserRevocationRepository revocationRepository;
+
+    private JwtService jwtService;
+    private UserRevocationRegistry revocations;
+    private RevokedFamilyFilter revokedFamilies;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService("mysupersecretkeymysupersecretkey", 60_000, 120_000, new VerifiedTokenCache(100));
+        revocations = new UserRevocationRegistry(revocationRepository, 60_000);
+        revokedFamilies = new RevokedFamilyFilter(familyRepository);
+        filter = new JwtAuthFilter(jwtService, userDetailsService, revocations, revokedFamilies);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidToken_BuildsPrincipalFromClaimsWithoutUserLookup() throws Exception {
+        String token = jwtService.generateAccessToken(5L, "doctor1", List.of("DOCTOR"));
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertEquals(5L, principal.getUserId());
+        assertEquals("doctor1", principal.getUsername());
+        assertEquals(List.of("ROLE_DOCTOR"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_RevokedUser_LeavesRequestUnauthenticated() throws Exception {
+        String token = jwtService.generateAccessToken(5L, "doctor1", List.of("DOCTOR"));
+        revocations.revoke(5L);
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        // Persisted, so the revocation is reloaded after a restart
+        verify(revocationRepository).save(argThat(revocation -> revocation.getUserId() == 5L));
+    }
+
+    @Test
+    void doFilter_RevokedFamily_LeavesRequestUnauthenticated() throws Exception {
+        String token = jwtService.generateAccessToken(5L, "doctor1", List.of("DOCTOR"), "family-1");
+        revokedFamilies.add("family-1", Instant.now().plusSeconds(60));
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_OtherFamilyRevoked_StillAuthenticates() throws Exception {
+        String token = jwtService.generateAccessToken(5L, "doctor1", List.of("DOCTOR"), "family-2");
+        revokedFamilies.add("family-1", Instant.now().plusSeconds(60));
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.security.JwtService;
+import org.example.healthcare_appointment_system.security.VerifiedToken;
+import org.example.healthcare_appointment_system.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private static final String SECRET = "mysupersecretkeymysupersecretkey";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000, 120_000, new VerifiedTokenCache(100));
+    }
+
+    @Test
+    void verifyAccessToken_ValidToken_ReturnsSubjectAndCachesResult() {
+        String token = jwtService.generateAccessToken(7L, "patient1", List.of("ROLE_PATIENT"));
+
+        Optional<VerifiedToken> first = jwtService.verifyAccessToken(token);
+        Optional<VerifiedToken> second = jwtService.verifyAccessToken(token);
+
+        assertTrue(first.isPresent());
+        assertEquals("patient1", first.get().subject());
+        assertEquals(7L, first.get().userId());
+        assertEquals(List.of("ROLE_PATIENT"), first.get().roles());
+        // Second lookup is served from the cache, not re-parsed
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    void verifyAccessToken_RefreshToken_Rejected() {
+        String token = jwtService.generateRefreshToken("patient1", "family-1", "jti-1");
+
+        assertTrue(jwtService.verifyAccessToken(token).isEmpty());
+    }
+
+    @Test
+    void verifyAccessToken_SignedWithOtherKey_Rejected() {
+        JwtService other = new JwtService("anothersecretkeyanothersecretkey!", 60_000, 120_000, new VerifiedTokenCache(100));
+        String token = other.generateAccessToken(7L, "patient1", List.of("ROLE_PATIENT"));
+
+        assertTrue(jwtService.verifyAccessToken(token).isEmpty());
+    }
+
+    @Test
+    void verifiedTokenCache_Full_EvictsUnusedTokenBeforeRecentlyUsedOne() {
+        JwtService bounded = new JwtService(SECRET, 60_000, 120_000, new VerifiedTokenCache(2));
+        String first = bounded.generateAccessToken(7L, "patient1", List.of("ROLE_PATIENT"));
+        String second = bounded.generateAccessToken(8L, "patient2", List.of("ROLE_PATIENT"));
+        String third = bounded.generateAccessToken(9L, "patient3", List.of("ROLE_PATIENT"));
+
+        VerifiedToken a = bounded.verifyAccessToken(first).orElseThrow();
+        VerifiedToken b = bounded.verifyAccessToken(second).orElseThrow();
+        // A cache hit marks the oldest token as in use
+        assertSame(a, bounded.verifyAccessToken(first).orElseThrow());
+        VerifiedToken c = bounded.verifyAccessToken(third).orElseThrow();
+
+        // The unused token made room; the used one got a second chance
+        assertSame(a, bounded.verifyAccessToken(first).orElseThrow());
+        assertSame(c, bounded.verifyAccessToken(third).orElseThrow());
+        assertNotSame(b, bounded.verifyAccessToken(second).orElseThrow());
+    }
+
+    @Test
+    void verifiedTokenCache_ZeroSize_CachesNothing() {
+        JwtService uncached = new JwtService(SECRET, 60_000, 120_000, new VerifiedTokenCache(0));
+        String token = uncached.generateAccessToken(7L, "patient1", List.of("ROLE_PATIENT"));
+
+        assertNotSame(uncached.verifyAccessToken(token).orElseThrow(),
+                uncached.verifyAccessToken(token).orElseThrow());
+    }
+}
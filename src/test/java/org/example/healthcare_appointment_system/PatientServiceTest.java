@@ -1,13 +1,17 @@
 package org.example.healthcare_appointment_system;
 
+import org.example.healthcare_appointment_system.document.Prescription;
 import org.example.healthcare_appointment_system.dto.*;
+import org.example.healthcare_appointment_system.entity.Appointment;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
 import org.example.healthcare_appointment_system.entity.Patient;
 import org.example.healthcare_appointment_system.entity.User;
 import org.example.healthcare_appointment_system.enums.Gender;
 import org.example.healthcare_appointment_system.enums.Role;
-import org.example.healthcare_appointment_system.repo.PatientRepository;
-import org.example.healthcare_appointment_system.repo.UserRepository;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.*;
 import org.example.healthcare_appointment_system.security.SecurityUtils;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
 import org.example.healthcare_appointment_system.service.PatientService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,14 +22,20 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +50,21 @@ class PatientServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @Mock
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Mock
+    private Executor historyReadExecutor;
+
+    @Mock
+    private UserRevocationRegistry userRevocationRegistry;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -124,6 +149,7 @@ class PatientServiceTest {
         assertEquals("Patient deleted successfully", result.getBody());
         verify(patientRepository, times(1)).delete(patient);
         verify(userRepository, times(1)).delete(user);
+        verify(userRevocationRegistry, times(1)).revoke(1L);
     }
 
     @Test
@@ -148,6 +174,17 @@ class PatientServiceTest {
         verify(patientRepository, times(1)).findAll();
     }
 
+    @Test
+    void getPatientsPage_PartialPage_HasNoCursor() {
+        when(patientRepository.findPageAfter(0L, Limit.of(CursorPageDto.DEFAULT_SIZE))).thenReturn(List.of(patient));
+
+        CursorPageDto<PatientResponseDto> page = patientService.getPatientsPage(null, CursorPageDto.DEFAULT_SIZE);
+
+        assertEquals(1, page.items().size());
+        assertEquals("01-01-1990", page.items().get(0).dateOfBirth());
+        assertNull(page.nextCursor());
+        verify(patientRepository, never()).findAll();
+    }
 
     @Test
     void updateInfo_Success() {
@@ -190,4 +227,99 @@ class PatientServiceTest {
         when(userRepository.findByUsername("unknownUser")).thenReturn(Optional.empty());
         assertThrows(RuntimeException.class, () -> patientService.findPatient("unknownUser"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPatientHistory_ResolvesAppointmentsInSingleQuery() {
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setSlotDate(LocalDate.of(2026, 1, 5));
+        slot.setDayOfWeek(WeekDay.MONDAY);
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(9, 30));
+
+        List<Prescription> prescriptions = new ArrayList<>();
+        List<Appointment> appointments = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(id);
+            appointment.setSlot(slot);
+            appointments.add(appointment);
+
+            Prescription prescription = new Prescription();
+            prescription.setPatientId(1L);
+            prescription.setAppointmentId(id);
+            prescription.setNotes("note " + id);
+            prescriptions.add(prescription);
+        }
+
+        when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(patient));
+        when(prescriptionRepository.findByPatientId(1L)).thenReturn(prescriptions);
+        when(appointmentRepository.findAllWithSlotByIdIn(anyCollection())).thenReturn(appointments);
+        when(medicalRecordRepository.findByPatientId(1L)).thenReturn(List.of());
+        runHistoryReadsInline();
+
+        PatientMedicalHistoryDto result = patientService.getPatientHistory();
+
+        assertEquals(200, result.prescriptions().size());
+        assertEquals("2026-01-05", result.prescriptions().get(0).appointmentDay());
+        assertEquals("09:00 - 09:30", result.prescriptions().get(0).appointmentTime());
+        // One batched lookup regardless of how many prescriptions the patient has
+        verify(appointmentRepository, times(1)).findAllWithSlotByIdIn(anyCollection());
+        verify(appointmentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getPatientHistory_MissingAppointment_ThrowsException() {
+        Prescription prescription = new Prescription();
+        prescription.setPatientId(1L);
+        prescription.setAppointmentId(42L);
+
+        when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(patient));
+        when(prescriptionRepository.findByPatientId(1L)).thenReturn(List.of(prescription));
+        when(appointmentRepository.findAllWithSlotByIdIn(anyCollection())).thenReturn(List.of());
+        runHistoryReadsInline();
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> patientService.getPatientHistory());
+        assertEquals("Appointment not found: 42", ex.getMessage());
+    }
+
+    @Test
+    void getPatientHistory_ReadsPrescriptionsAndRecordsConcurrently() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        doAnswer(inv -> {
+            pool.execute(inv.getArgument(0));
+            return null;
+        }).when(historyReadExecutor).execute(isA(Runnable.class));
+
+        // Each read waits for the other to start, so this only completes if they overlap
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(patientRepository.findByUserId(1L)).thenReturn(Optional.of(patient));
+        when(prescriptionRepository.findByPatientId(1L)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(medicalRecordRepository.findByPatientId(1L)).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(appointmentRepository.findAllWithSlotByIdIn(anyCollection())).thenReturn(List.of());
+
+        try {
+            PatientMedicalHistoryDto result = patientService.getPatientHistory();
+
+            assertTrue(result.prescriptions().isEmpty());
+            assertTrue(result.medicalRecords().isEmpty());
+            assertEquals(0, bothStarted.getCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void runHistoryReadsInline() {
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(historyReadExecutor).execute(isA(Runnable.class));
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.repo.RefreshTokenFamilyRepository;
+import org.example.healthcare_appointment_system.repo.UserRevocationRepository;
+import org.example.healthcare_appointment_system.security.JwtService;
+import org.example.healthcare_appointment_system.security.RefreshTokenService;
+import org.example.healthcare_appointment_system.security.RevokedFamilyFilter;
+import org.example.healthcare_appointment_system.security.UserRevocationRegistry;
+import org.example.healthcare_appointment_system.security.VerifiedTokenCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs rotate in its own (real) transaction against H2 and checks that a detected token reuse
+ * leaves the family revoked in the table, so the revocation survives a restart. The same for
+ * revoked users.
+ */
+@DataJpaTest
+@Import({RefreshTokenService.class, RevokedFamilyFilter.class, JwtService.class, VerifiedTokenCache.class,
+        UserRevocationRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenRevocationPersistenceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenFamilyRepository familyRepository;
+
+    @Autowired
+    private UserRevocationRegistry userRevocations;
+
+    @Autowired
+    private UserRevocationRepository revocationRepository;
+
+    @Test
+    void rotate_ReplayedToken_RevocationIsCommitted() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.startFamily(1L, "patient1");
+        refreshTokenService.rotate(issued.token());
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(issued.token()));
+
+        assertTrue(familyRepository.findById(issued.familyId()).orElseThrow().isRevoked());
+        // What RevokedFamilyFilter reloads on startup
+        assertTrue(familyRepository.findRevokedUnexpired(Instant.now()).stream()
+                .anyMatch(family -> family.getId().equals(issued.familyId())));
+    }
+
+    @Test
+    void revokeUser_RevocationIsCommitted() {
+        Instant before = Instant.now().minusSeconds(1);
+
+        userRevocations.revoke(7L);
+
+        // What UserRevocationRegistry reloads on startup
+        assertTrue(revocationRepository.findByRevokedAtAfter(before).stream()
+                .anyMatch(revocation -> revocation.getUserId() == 7L));
+    }
+}
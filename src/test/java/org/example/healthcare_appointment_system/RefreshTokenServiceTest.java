@@ -0,0 +1,107 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.entity.RefreshTokenFamily;
+import org.example.healthcare_appointment_system.repo.RefreshTokenFamilyRepository;
+import org.example.healthcare_appointment_system.security.JwtService;
+import org.example.healthcare_appointment_system.security.RefreshTokenService;
+import org.example.healthcare_appointment_system.security.RevokedFamilyFilter;
+import org.example.healthcare_appointment_system.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository familyRepository;
+
+    private RevokedFamilyFilter revokedFamilies;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtService jwtService = new JwtService("mysupersecretkeymysupersecretkey", 60_000, 120_000,
+                new VerifiedTokenCache(100));
+        revokedFamilies = new RevokedFamilyFilter(familyRepository);
+        refreshTokenService = new RefreshTokenService(familyRepository, revokedFamilies, jwtService);
+    }
+
+    @Test
+    void rotate_CurrentToken_IssuesNextTokenInSameFamily() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.startFamily(1L, "patient1");
+        RefreshTokenFamily family = savedFamily();
+        String firstJti = family.getCurrentJti();
+
+        RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(issued.token());
+
+        assertEquals(issued.familyId(), rotated.familyId());
+        assertNotEquals(issued.token(), rotated.token());
+        assertNotEquals(firstJti, family.getCurrentJti());
+        assertFalse(family.isRevoked());
+    }
+
+    @Test
+    void rotate_ReplayedToken_RevokesWholeFamily() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.startFamily(1L, "patient1");
+        RefreshTokenFamily family = savedFamily();
+        refreshTokenService.rotate(issued.token());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate(issued.token()));
+
+        assertEquals("Refresh token reuse detected, session revoked", ex.getMessage());
+        assertTrue(family.isRevoked());
+        assertTrue(revokedFamilies.isRevoked(issued.familyId()));
+    }
+
+    @Test
+    void rotate_RevokedFamily_Rejected() {
+        RefreshTokenService.IssuedRefreshToken issued = refreshTokenService.startFamily(1L, "patient1");
+        RefreshTokenFamily family = savedFamily();
+        refreshTokenService.revokeFamily(issued.familyId());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate(issued.token()));
+
+        assertEquals("Refresh token has been revoked", ex.getMessage());
+        assertTrue(family.isRevoked());
+    }
+
+    @Test
+    void rotate_GarbageToken_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("not-a-jwt"));
+        verifyNoInteractions(familyRepository);
+    }
+
+    @Test
+    void revokedFamilies_PruneExpired_ForgetsOnlyExpiredFamilies() {
+        revokedFamilies.add("expired", Instant.now().minusSeconds(60));
+        revokedFamilies.add("active", Instant.now().plusSeconds(3600));
+
+        revokedFamilies.pruneExpired();
+
+        assertFalse(revokedFamilies.isRevoked("expired"));
+        assertTrue(revokedFamilies.isRevoked("active"));
+    }
+
+    /**
+     * Returns the family persisted by startFamily and serves it back to the locking lookup.
+     */
+    private RefreshTokenFamily savedFamily() {
+        ArgumentCaptor<RefreshTokenFamily> saved = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+        verify(familyRepository).save(saved.capture());
+        RefreshTokenFamily family = saved.getValue();
+        when(familyRepository.findForUpdateById(family.getId())).thenReturn(Optional.of(family));
+        return family;
+    }
+}
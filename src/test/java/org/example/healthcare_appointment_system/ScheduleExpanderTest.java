@@ -0,0 +1,116 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.entity.AvailabilitySlot;
+import org.example.healthcare_appointment_system.entity.Doctor;
+import org.example.healthcare_appointment_system.entity.ScheduleTemplate;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.AvailabilitySlotRepository;
+import org.example.healthcare_appointment_system.repo.ScheduleTemplateRepository;
+import org.example.healthcare_appointment_system.service.ScheduleExpander;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleExpanderTest {
+    private static final LocalDate FIRST_MONDAY = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    @Mock
+    private ScheduleTemplateRepository templateRepository;
+
+    @Mock
+    private AvailabilitySlotRepository slotRepository;
+
+    @Mock
+    private SlotAvailabilityIndex slotIndex;
+
+    @Mock
+    private CacheService cacheService;
+
+    private ScheduleExpander expander;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        expander = new ScheduleExpander(templateRepository, slotRepository, slotIndex, cacheService, 8);
+
+        doctor = new Doctor();
+        doctor.setId(1L);
+        doctor.setSpecialty("Cardiology");
+    }
+
+    @Test
+    void materialize_NewTemplate_CreatesOneSlotPerWeekThroughHorizon() {
+        ScheduleTemplate template = mondayTemplate(null);
+        when(slotRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<AvailabilitySlot> slots = expander.materialize(List.of(template), FIRST_MONDAY.plusWeeks(3));
+
+        assertEquals(4, slots.size());
+        assertEquals(FIRST_MONDAY, slots.get(0).getSlotDate());
+        assertEquals(FIRST_MONDAY.plusWeeks(3), slots.get(3).getSlotDate());
+        assertSame(template, slots.get(0).getTemplate());
+        assertFalse(slots.get(0).isReserved());
+        assertEquals(FIRST_MONDAY.plusWeeks(3), template.getMaterializedThrough());
+        verify(cacheService).evictDoctorCache(1L);
+        verify(cacheService).evictDoctorSearchResults("Cardiology");
+    }
+
+    @Test
+    void materialize_AlreadyExpandedTemplate_OnlyAddsNewDays() {
+        ScheduleTemplate template = mondayTemplate(FIRST_MONDAY.plusWeeks(1));
+        when(slotRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<AvailabilitySlot> slots = expander.materialize(List.of(template), FIRST_MONDAY.plusWeeks(2).plusDays(3));
+
+        assertEquals(1, slots.size());
+        assertEquals(FIRST_MONDAY.plusWeeks(2), slots.get(0).getSlotDate());
+    }
+
+    @Test
+    void expandDue_NothingDue_TouchesNoSlots() {
+        LocalDate horizonEnd = expander.horizonEnd();
+        when(templateRepository.findDueForExpansion(horizonEnd, Limit.of(100))).thenReturn(List.of());
+
+        assertEquals(0, expander.expandDue(horizonEnd, 100));
+        verifyNoInteractions(slotRepository);
+    }
+
+    @Test
+    void pruneBefore_DeletesUnbookedPastSlotsAndForgetsThem() {
+        LocalDate today = LocalDate.now();
+        when(slotRepository.findPrunableIds(today, Limit.of(100))).thenReturn(List.of(3L, 4L));
+
+        assertEquals(2, expander.pruneBefore(today, 100));
+
+        verify(slotRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+        verify(slotIndex).remove(3L);
+        verify(slotIndex).remove(4L);
+        verify(cacheService).clearAllDoctorCaches();
+    }
+
+    private ScheduleTemplate mondayTemplate(LocalDate materializedThrough) {
+        ScheduleTemplate template = new ScheduleTemplate();
+        template.setId(5L);
+        template.setDoctor(doctor);
+        template.setDayOfWeek(WeekDay.MONDAY);
+        template.setStartTime(LocalTime.of(9, 0));
+        template.setEndTime(LocalTime.of(9, 30));
+        template.setMaterializedThrough(materializedThrough);
+        return template;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.healthcare_appointment_system;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.example.healthcare_appointment_system.AOP.ServiceMetricsAspect;
+import org.example.healthcare_appointment_system.service.DoctorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry registry;
+    private ServiceMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new ServiceMetricsAspect(registry, 500);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getDeclaringType()).thenReturn(DoctorService.class);
+        when(signature.getName()).thenReturn("searchBySpecialty");
+    }
+
+    @Test
+    void timeServiceCall_Success_RecordsTimerPerMethod() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", aspect.timeServiceCall(joinPoint));
+        aspect.timeServiceCall(joinPoint);
+
+        Timer timer = registry.get("service.method")
+                .tag("class", "DoctorService")
+                .tag("method", "searchBySpecialty")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void timeServiceCall_Failure_RecordsExceptionTagAndRethrows() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.timeServiceCall(joinPoint));
+
+        Timer timer = registry.get("service.method")
+                .tag("method", "searchBySpecialty")
+                .tag("exception", "IllegalStateException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
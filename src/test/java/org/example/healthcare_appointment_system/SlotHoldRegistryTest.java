@@ -0,0 +1,54 @@
+package org.example.healthcare_appointment_system;
+
+import org.example.healthcare_appointment_system.service.SlotHoldRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHoldRegistryTest {
+
+    @Test
+    void acquire_SlotHeldByOtherPatient_IsRejected() {
+        SlotHoldRegistry holds = new SlotHoldRegistry(60);
+        SlotHoldRegistry.SlotHold hold = holds.acquire(1L, 7L, 100L);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> holds.acquire(1L, 7L, 200L));
+
+        assertEquals("This slot is on hold by another patient", ex.getMessage());
+        assertTrue(holds.isHeldByOther(1L, 200L));
+        assertFalse(holds.isHeldByOther(1L, 100L));
+        // Holding again as the same patient returns the existing hold
+        assertEquals(hold, holds.acquire(1L, 7L, 100L));
+    }
+
+    @Test
+    void release_OnlyByHolder_FreesTheSlot() {
+        SlotHoldRegistry holds = new SlotHoldRegistry(60);
+        SlotHoldRegistry.SlotHold hold = holds.acquire(1L, 7L, 100L);
+
+        holds.release(1L, 200L);
+        assertTrue(holds.find(hold.id()).isPresent());
+
+        holds.release(1L, 100L);
+        assertTrue(holds.find(hold.id()).isEmpty());
+        assertEquals(0, holds.size());
+        assertNotEquals(hold.id(), holds.acquire(1L, 7L, 200L).id());
+    }
+
+    @Test
+    void expiredHold_IsRemovedByTheTimerWheel() throws Exception {
+        SlotHoldRegistry holds = new SlotHoldRegistry(1);
+        SlotHoldRegistry.SlotHold hold = holds.acquire(1L, 7L, 100L);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (holds.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, holds.size());
+        assertTrue(holds.find(hold.id()).isEmpty());
+        assertFalse(holds.isHeldByOther(1L, 200L));
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.healthcare_appointment_system;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.healthcare_appointment_system.cacheTest.CacheService;
+import org.example.healthcare_appointment_system.dto.BookAppointmentDto;
+import org.example.healthcare_appointment_system.entity.*;
+import org.example.healthcare_appointment_system.enums.Gender;
+import org.example.healthcare_appointment_system.enums.Role;
+import org.example.healthcare_appointment_system.enums.WeekDay;
+import org.example.healthcare_appointment_system.repo.*;
+import org.example.healthcare_appointment_system.security.CustomUserDetails;
+import org.example.healthcare_appointment_system.service.AppointmentService;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndex;
+import org.example.healthcare_appointment_system.service.SlotAvailabilityIndexListener;
+import org.example.healthcare_appointment_system.service.SlotHoldRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires thousands of parallel bookings at a single slot against H2 and checks
+ * that the versioned update lets exactly one of them through.
+ */
+@DataJpaTest
+@Import({AppointmentService.class, SlotAvailabilityIndex.class, SlotAvailabilityIndexListener.class, SlotHoldRegistry.class,
+        CacheService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotReservationConcurrencyTest {
+    private static final int BOOKINGS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Doctor doctor;
+    private CustomUserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        User doctorUser = userRepository.save(User.builder()
+                .username("doctor1")
+                .email("doctor1@example.com")
+                .phone("1111111111")
+                .password("encoded")
+                .role(Role.DOCTOR)
+                .enabled(true)
+                .build());
+
+        doctor = new Doctor();
+        doctor.setUser(doctorUser);
+        doctor.setSpecialty("Cardiology");
+        doctorRepository.save(doctor);
+
+        User patientUser = userRepository.save(User.builder()
+                .username("patient1")
+                .email("patient1@example.com")
+                .phone("2222222222")
+                .password("encoded")
+                .role(Role.PATIENT)
+                .enabled(true)
+                .build());
+
+        Patient patient = new Patient();
+        patient.setUser(patientUser);
+        patient.setGender(Gender.FEMALE);
+        patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        patientRepository.save(patient);
+
+        principal = new CustomUserDetails(
+                patientUser.getId(), patientUser.getUsername(), "",
+                true, true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        appointmentRepository.deleteAll();
+        slotRepository.deleteAll();
+        patientRepository.deleteAll();
+        doctorRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void parallelBookingsOfOneSlot_ExactlyOneWinner() throws Exception {
+        AvailabilitySlot slot = saveSlot(9);
+        BookAppointmentDto dto = new BookAppointmentDto(doctor.getId(), slot.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger losers = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                try {
+                    start.await();
+                    appointmentService.bookAppointment(dto);
+                    winners.incrementAndGet();
+                } catch (RuntimeException e) {
+                    losers.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(BOOKINGS - 1, losers.get());
+        assertEquals(1, appointmentRepository.count());
+
+        AvailabilitySlot reloaded = slotRepository.findById(slot.getId()).orElseThrow();
+        assertTrue(reloaded.isReserved());
+        // One successful compare-and-set, no lost or duplicated updates
+        assertEquals(1, reloaded.getVersion());
+    }
+
+    @Test
+    void booking_EvictsOnlyTheBookedSlotFromTheSecondLevelCache() {
+        AvailabilitySlot booked = saveSlot(9);
+        AvailabilitySlot other = saveSlot(10);
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        slotRepository.findAllById(List.of(booked.getId(), other.getId()));
+        assertTrue(cache.contains(AvailabilitySlot.class, other.getId()));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        appointmentService.bookAppointment(new BookAppointmentDto(doctor.getId(), booked.getId()));
+
+        // A bulk JPQL update would have emptied the whole region
+        assertTrue(cache.contains(AvailabilitySlot.class, other.getId()));
+        assertTrue(slotRepository.findById(booked.getId()).orElseThrow().isReserved());
+    }
+
+    @Test
+    void findNextAvailable_FiltersOnTheSpecialtyCopiedOntoSlots() {
+        AvailabilitySlot first = saveSlot(9);
+        saveSlot(10);
+
+        List<FreeSlotView> next = slotRepository.findNextAvailable("cardiology", LocalDate.now(), LocalTime.MIN, Limit.of(1));
+
+        assertEquals("cardiology", first.getDoctorSpecialty());
+        assertEquals(List.of(first.getId()), next.stream().map(FreeSlotView::slotId).toList());
+        assertTrue(slotRepository.findNextAvailable("neurology", LocalDate.now(), LocalTime.MIN, Limit.of(1)).isEmpty());
+    }
+
+    private AvailabilitySlot saveSlot(int hour) {
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setDoctor(doctor);
+        slot.setSlotDate(LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)));
+        slot.setDayOfWeek(WeekDay.MONDAY);
+        slot.setStartTime(LocalTime.of(hour, 0));
+        slot.setEndTime(LocalTime.of(hour, 30));
+        slot.setReserved(false);
+        return slotRepository.save(slot);
+    }
+}